@@ -1,12 +1,16 @@
 package com.cyber;
 
+import com.cyber.jfr.RecordingPasswordEncoder;
 import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
+@EnableScheduling
 public class Run {
 
     public static void main(String[] args) {
@@ -20,8 +24,8 @@ public class Run {
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(){
+        return new RecordingPasswordEncoder(new BCryptPasswordEncoder());
     }
 
 }
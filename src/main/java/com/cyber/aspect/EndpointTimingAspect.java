@@ -0,0 +1,44 @@
+package com.cyber.aspect;
+
+import com.cyber.annotation.DefaultExceptionMessage;
+import com.cyber.util.RequestTimings;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+//every API method has @DefaultExceptionMessage - the request is named after its mapping, not its URL (no ids in tags)
+//latency itself is recorded by RequestTimingFilter, so that serialization is included
+@Aspect
+@Component
+public class EndpointTimingAspect {
+
+    @Around("@annotation(defaultExceptionMessage)")
+    public Object nameEndpoint(ProceedingJoinPoint joinPoint, DefaultExceptionMessage defaultExceptionMessage) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (timings != null && attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            timings.handledBy(request.getMethod() + " " + (pattern == null ? request.getRequestURI() : pattern), currentRole());
+        }
+        return joinPoint.proceed();
+    }
+
+    private String currentRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getAuthorities().isEmpty()) {
+            return "anonymous";
+        }
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElse("anonymous");
+    }
+}
@@ -0,0 +1,34 @@
+package com.cyber.cache;
+
+import com.cyber.dto.ConfirmationTokenRefDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+//token -> confirmation token, so repeated confirmation clicks do not query confirmation_email table
+@Component
+public class ConfirmationTokenCache {
+
+    private final Cache<String, ConfirmationTokenRefDTO> cache;
+
+    public ConfirmationTokenCache(@Value("${confirmation-token.cache.max-size}") long maxSize,
+                                  @Value("${confirmation-token.cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    //loader is only called on a miss - unknown tokens (null) are not cached
+    public ConfirmationTokenRefDTO get(String token, Function<String, ConfirmationTokenRefDTO> loader) {
+        return cache.get(token, loader);
+    }
+
+    public void evict(String token) {
+        cache.invalidate(token);
+    }
+}
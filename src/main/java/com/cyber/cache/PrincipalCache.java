@@ -0,0 +1,34 @@
+package com.cyber.cache;
+
+import com.cyber.dto.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+//username -> authenticated user, so the security filter does not query users table on each API call
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size}") long maxSize,
+                          @Value("${security.principal-cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl) //safety net for changes which are not done through this service
+                .build();
+    }
+
+    //loader is only called on a miss - if it throws, nothing is cached
+    public AuthenticatedUser get(String username, Function<String, AuthenticatedUser> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+}
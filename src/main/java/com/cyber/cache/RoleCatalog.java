@@ -0,0 +1,118 @@
+package com.cyber.cache;
+
+import com.cyber.dto.RoleDTO;
+import com.cyber.entity.Role;
+import com.cyber.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+//roles hardly ever change - id <-> description index is kept in memory, users are mapped & filtered without joining roles
+@Component
+public class RoleCatalog {
+
+    private final RoleRepository roleRepository;
+    private final long missRefreshIntervalNanos;
+    private final AtomicLong lastMissRefresh;
+    private volatile Snapshot snapshot;
+
+    public RoleCatalog(@Lazy RoleRepository roleRepository,
+                       @Value("${role-catalog.miss-refresh-interval}") Duration missRefreshInterval) {
+        this.roleRepository = roleRepository;
+        this.missRefreshIntervalNanos = missRefreshInterval.toNanos();
+        this.lastMissRefresh = new AtomicLong(System.nanoTime() - missRefreshIntervalNanos);
+    }
+
+    //fixed catalog, it is never refreshed
+    public static RoleCatalog of(List<Role> roles) {
+        RoleCatalog roleCatalog = new RoleCatalog(null, Duration.ZERO);
+        roleCatalog.snapshot = new Snapshot(roles);
+        return roleCatalog;
+    }
+
+    //loaded once the app is ready, not by the first request that needs it
+    //new index replaces the old one at once - readers never see a half loaded catalog
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${role-catalog.refresh-interval}")
+    public void refresh() {
+        if (roleRepository != null) {
+            snapshot = new Snapshot(roleRepository.findAll());
+        }
+    }
+
+    //unknown id may be a role added since the last refresh - or just a wrong id sent by a client,
+    //so a miss reloads the roles at most once per [miss-refresh-interval], not once per request
+    public Optional<RoleDTO> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        String description = snapshot().descriptions.get(id);
+        if (description == null && refreshAllowed()) {
+            refresh();
+            description = snapshot().descriptions.get(id);
+        }
+        return Optional.ofNullable(description).map(found -> new RoleDTO(id, found));
+    }
+
+    public Optional<RoleDTO> findByDescription(String description) {
+        if (description == null) {
+            return Optional.empty();
+        }
+        Long id = snapshot().ids.get(description.toLowerCase(Locale.ROOT));
+        return Optional.ofNullable(id).map(found -> new RoleDTO(found, snapshot().descriptions.get(found)));
+    }
+
+    public List<RoleDTO> findAll() {
+        return snapshot().descriptions.entrySet().stream()
+                .map(entry -> new RoleDTO(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    //only one of the concurrent misses wins the slot
+    private boolean refreshAllowed() {
+        long now = System.nanoTime();
+        long last = lastMissRefresh.get();
+        return now - last >= missRefreshIntervalNanos && lastMissRefresh.compareAndSet(last, now);
+    }
+
+    //requests served before the app is ready still find the roles
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+
+        private final Map<Long, String> descriptions;
+        private final Map<String, Long> ids;
+
+        Snapshot(List<Role> roles) {
+            Map<Long, String> descriptions = new LinkedHashMap<>();
+            Map<String, Long> ids = new LinkedHashMap<>();
+            roles.stream().sorted(Comparator.comparing(Role::getId)).forEach(role -> {
+                descriptions.put(role.getId(), role.getDescription());
+                ids.putIfAbsent(role.getDescription().toLowerCase(Locale.ROOT), role.getId());
+            });
+            this.descriptions = Collections.unmodifiableMap(descriptions);
+            this.ids = Collections.unmodifiableMap(ids);
+        }
+    }
+}
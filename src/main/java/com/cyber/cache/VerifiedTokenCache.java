@@ -0,0 +1,62 @@
+package com.cyber.cache;
+
+import com.cyber.dto.TokenClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+//raw bearer token -> verified claims, so repeated calls with the same token skip signature check & decoding
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, TokenClaims> cache;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-size}") long maxSize,
+                              @Value("${security.jwt.cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl.toNanos()))
+                .build();
+    }
+
+    //verifier is only called on a miss - if it throws, nothing is cached
+    public TokenClaims get(String token, Function<String, TokenClaims> verifier) {
+        return cache.get(token, verifier);
+    }
+
+    //user is deleted or updated - its tokens have to be verified against DB again
+    public void evictUser(Long userId) {
+        cache.asMap().values().removeIf(claims -> userId.equals(claims.getId()));
+    }
+
+    //entry lives for the configured ttl, but never longer than the token itself
+    private static class TokenExpiry implements Expiry<String, TokenClaims> {
+
+        private final long ttlNanos;
+
+        TokenExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String token, TokenClaims claims, long currentTime) {
+            long untilExpiration = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiration));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.cyber.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+//only when a replica is configured - otherwise the auto-configured single pool is used
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.url")
+public class DataSourceConfig {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+    public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+
+    //spring.datasource.* - writes & reads right after a write, pool settings from spring.datasource.hikari.*
+    @Bean(PRIMARY_DATA_SOURCE)
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bind(environment, dataSource, "spring.datasource.hikari");
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    //same driver, credentials & pool settings as primary unless app.datasource.replica.* says otherwise
+    @Bean(REPLICA_DATA_SOURCE)
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        bind(environment, dataSource, "spring.datasource.hikari", "app.datasource.replica.hikari");
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    //used by JPA & everything else - connection is taken when the first statement runs, after readOnly is known
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primary, @Qualifier(REPLICA_DATA_SOURCE) DataSource replica,
+                                 @Value("${app.datasource.replica.read-after-write-window:5s}") Duration readAfterWriteWindow) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, readAfterWriteWindow));
+    }
+
+    //pools built here are not bound by the auto-configuration - later prefixes override earlier ones, pool names stay fixed for the metrics
+    private void bind(Environment environment, HikariDataSource dataSource, String... prefixes) {
+        Binder binder = Binder.get(environment);
+        for (String prefix : prefixes) {
+            binder.bind(prefix, Bindable.ofInstance(dataSource));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.cyber.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String PASSWORD_ENCODER_EXECUTOR = "passwordEncoderExecutor";
+
+    //mail outbox workers - each one sends batches over its own SMTP connection
+    @Bean(MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor mailExecutor(@Value("${mail.outbox.workers}") int workers){
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    //BCrypt is CPU bound - no more threads than cores, caller hashes too when the queue is full
+    @Bean(PASSWORD_ENCODER_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordEncoderExecutor(){
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(cores * 4);
+        executor.setThreadNamePrefix("password-encoder-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
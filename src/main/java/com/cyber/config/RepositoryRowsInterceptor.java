@@ -0,0 +1,84 @@
+package com.cyber.config;
+
+import com.cyber.jfr.RepositoryInvocationEvent;
+import com.cyber.util.RequestTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+//rows returned by each repository method - timing per method comes from spring.data.repository.invocations
+//time spent in repositories is also added to the DB phase of the current API call, and reported as a JFR event
+public class RepositoryRowsInterceptor implements MethodInterceptor {
+
+    public static final String METRIC = "spring.data.repository.rows";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Class<?> repositoryInterface;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RepositoryRowsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        RepositoryInvocationEvent event = new RepositoryInvocationEvent();
+        event.begin();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.DB, start);
+            event.end();
+        }
+        long rows = rowsOf(result);
+        if (event.shouldCommit()) {
+            event.repository = repositoryInterface.getSimpleName();
+            event.method = invocation.getMethod().getName();
+            event.rows = rows;
+            event.commit();
+        }
+        if (rows >= 0) {
+            summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary.builder(METRIC)
+                    .description("Rows returned by a repository method")
+                    .baseUnit("rows")
+                    .tag("repository", repositoryInterface.getSimpleName())
+                    .tag("method", method.getName())
+                    .register(meterRegistry.getObject()))
+                    .record(rows);
+        }
+        return result;
+    }
+
+    //-1: nothing to count - streams are read later, numbers & booleans are counts, exists or updated rows
+    private long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Stream || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+}
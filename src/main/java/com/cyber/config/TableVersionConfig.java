@@ -0,0 +1,33 @@
+package com.cyber.config;
+
+import com.cyber.repository.TableVersionRepository;
+import com.cyber.util.ETagUtil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class TableVersionConfig {
+
+    //static - post processors are created before other beans, version repository is looked up on the first commit
+    @Bean
+    public static BeanPostProcessor tableVersionPostProcessor(ObjectProvider<TableVersionRepository> tableVersionRepository) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+                                Class<?> domainType = repositoryInformation.getDomainType();
+                                if (ETagUtil.VERSIONED_ENTITIES.contains(domainType)) {
+                                    proxyFactory.addAdvice(new TableVersionInterceptor(tableVersionRepository, ETagUtil.tableOf(domainType)));
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+}
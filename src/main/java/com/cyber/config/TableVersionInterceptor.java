@@ -0,0 +1,77 @@
+package com.cyber.config;
+
+import com.cyber.repository.TableVersionRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.TreeSet;
+
+//save*, delete* & @Modifying calls of a repository increment the version of its table - once per transaction, right before commit
+//row lock of the version is held only while committing, tables are locked in name order so two writers do not deadlock
+public class TableVersionInterceptor implements MethodInterceptor {
+
+    private static final Object CHANGED_TABLES = new Object();
+
+    private final ObjectProvider<TableVersionRepository> tableVersionRepository;
+    private final String tableName;
+
+    public TableVersionInterceptor(ObjectProvider<TableVersionRepository> tableVersionRepository, String tableName) {
+        this.tableVersionRepository = tableVersionRepository;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (isWrite(invocation.getMethod())) {
+            changed(tableName);
+        }
+        return result;
+    }
+
+    private boolean isWrite(Method method) {
+        return method.getName().startsWith("save") || method.getName().startsWith("delete")
+                || AnnotatedElementUtils.hasAnnotation(method, Modifying.class);
+    }
+
+    //repository writes are always transactional - synchronization is active here
+    @SuppressWarnings("unchecked")
+    private void changed(String tableName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<String> tables = (Set<String>) TransactionSynchronizationManager.getResource(CHANGED_TABLES);
+        if (tables == null) {
+            Set<String> changedTables = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(CHANGED_TABLES, changedTables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changedTables.forEach(TableVersionInterceptor.this::increment);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CHANGED_TABLES);
+                }
+            });
+            tables = changedTables;
+        }
+        tables.add(tableName);
+    }
+
+    private void increment(String table) {
+        TableVersionRepository repository = tableVersionRepository.getObject();
+        if (repository.increment(table) == 0) {
+            repository.insertIfAbsent(table);
+            repository.increment(table);
+        }
+    }
+}
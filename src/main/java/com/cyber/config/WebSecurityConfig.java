@@ -2,8 +2,10 @@ package com.cyber.config;
 
 import com.cyber.filter.SecurityFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -41,6 +43,16 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
             "/webjars/**"
     };
 
+    //actual port of the management server (management.server.port, may be 0) - -1 while actuator shares the public port
+    private volatile int managementPort = -1;
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
     //to avoid cyberattack, disable csrf - so that angular & react work on different ports
     @Override
     protected void configure(HttpSecurity http) throws Exception{
@@ -51,6 +63,9 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .authorizeRequests()
                 .antMatchers(permittedUrls) //rest endpoints are authenticated
                 .permitAll()
+                //health & prometheus are scraped without a token on the management port only - it is not published
+                .requestMatchers(request -> request.getLocalPort() == managementPort)
+                .permitAll()
                 .anyRequest()
                 .authenticated()
                 .and()
@@ -1,18 +1,27 @@
 package com.cyber.controller;
 
 import com.cyber.annotation.DefaultExceptionMessage;
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.ProjectDTO;
+import com.cyber.entity.Project;
 import com.cyber.entity.ResponseWrapper;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
 import com.cyber.service.ProjectService;
 import com.cyber.service.UserService;
+import com.cyber.util.ETagUtil;
+import com.cyber.util.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -23,28 +32,49 @@ public class ProjectController {
 
     private ProjectService projectService;
     private UserService userService;
+    private ETagUtil eTagUtil;
 
-    public ProjectController(@Lazy ProjectService projectService, UserService userService) {
+    public ProjectController(@Lazy ProjectService projectService, UserService userService, ETagUtil eTagUtil) {
         this.projectService = projectService;
         this.userService = userService;
+        this.eTagUtil = eTagUtil;
     }
 
-    //admin & manager retrieve all projects
+    //admin & manager retrieve all projects - page by page, [after] is [nextCursor] of the previous page
     @GetMapping
     @Operation(summary = "Retrieve all projects")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving all projects !!!")
     @PreAuthorize("hasAnyAuthority('Admin','Manager')")
-    public ResponseEntity<ResponseWrapper> readAll()  {
-        List<ProjectDTO> listProjectDTO = projectService.listAllProjects();
+    public ResponseEntity<ResponseWrapper> readAll(@RequestParam(required = false) Long after,
+                                                   @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_LIMIT) int limit,
+                                                   NativeWebRequest webRequest)  {
+        //polling clients get 304 while nothing has changed - nothing is mapped or serialized
+        if (eTagUtil.checkNotModified(webRequest, Project.class, User.class)) {
+            return null;
+        }
+        CursorPageDTO<ProjectDTO> listProjectDTO = projectService.listAllProjects(after, limit);
         return ResponseEntity.ok(new ResponseWrapper("Projects are retrieved successfully",listProjectDTO));
     }
 
+    //export all projects as newline-delimited JSON - streamed, so it works for any number of projects
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    @Operation(summary = "Export all projects")
+    @DefaultExceptionMessage(defaultMessage = "Sth went wrong while exporting projects !!!")
+    @PreAuthorize("hasAnyAuthority('Admin','Manager')")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        projectService.exportAllProjects(response.getOutputStream());
+    }
+
     //retrieve certain project by project code
     @GetMapping("/{projectCode}")
     @Operation(summary = "Retrieve certain project by project code")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving certain project by project code !!!")
     @PreAuthorize("hasAnyAuthority('Admin','Manager')")
-    public ResponseEntity<ResponseWrapper> readByProjectCode(@PathVariable("projectCode") String projectCode)  {
+    public ResponseEntity<ResponseWrapper> readByProjectCode(@PathVariable("projectCode") String projectCode, NativeWebRequest webRequest)  {
+        if (eTagUtil.checkNotModified(webRequest, Project.class, User.class)) {
+            return null;
+        }
         ProjectDTO projectDTO = projectService.getByProjectCode(projectCode);
         return ResponseEntity.ok(new ResponseWrapper("Certain project is retrieved successfully",projectDTO));
     }
@@ -94,7 +124,10 @@ public class ProjectController {
     @Operation(summary = "Retrieve all project details")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving all project details by manager !!!")
     @PreAuthorize("hasAuthority('Manager')")
-    public ResponseEntity<ResponseWrapper> readAllProjectDetails() throws AccessDeniedException, TicketNGProjectException {
+    public ResponseEntity<ResponseWrapper> readAllProjectDetails(NativeWebRequest webRequest) throws AccessDeniedException, TicketNGProjectException {
+        if (eTagUtil.checkNotModified(webRequest, Project.class, Task.class, User.class)) {
+            return null;
+        }
         List<ProjectDTO> listProjectDTO = projectService.listAllProjectDetails();
         return ResponseEntity.ok(new ResponseWrapper("All project details are retrieved successfully",listProjectDTO));
     }
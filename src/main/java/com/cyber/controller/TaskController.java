@@ -1,20 +1,29 @@
 package com.cyber.controller;
 
 import com.cyber.annotation.DefaultExceptionMessage;
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.TaskDTO;
+import com.cyber.entity.Project;
 import com.cyber.entity.ResponseWrapper;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
 import com.cyber.enums.Status;
 import com.cyber.exception.TicketNGProjectException;
 import com.cyber.service.ProjectService;
 import com.cyber.service.TaskService;
 import com.cyber.service.UserService;
+import com.cyber.util.ETagUtil;
+import com.cyber.util.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -23,27 +32,48 @@ import java.util.List;
 public class TaskController {
 
     TaskService taskService;
+    private ETagUtil eTagUtil;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ETagUtil eTagUtil) {
         this.taskService = taskService;
+        this.eTagUtil = eTagUtil;
     }
 
-    //retrieve tasks
+    //retrieve tasks - page by page, [after] is [nextCursor] of the previous page
     @GetMapping
     @Operation(summary = "Retrieve all tasks")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving tasks !!!")
     @PreAuthorize("hasAuthority('Manager')")
-    public ResponseEntity<ResponseWrapper> readAll()  {
-        List<TaskDTO> listTasks = taskService.listAllTasks();
+    public ResponseEntity<ResponseWrapper> readAll(@RequestParam(required = false) Long after,
+                                                   @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_LIMIT) int limit,
+                                                   NativeWebRequest webRequest)  {
+        //polling clients get 304 while nothing has changed - nothing is mapped or serialized
+        if (eTagUtil.checkNotModified(webRequest, Task.class, Project.class, User.class)) {
+            return null;
+        }
+        CursorPageDTO<TaskDTO> listTasks = taskService.listAllTasks(after, limit);
         return ResponseEntity.ok(new ResponseWrapper("Tasks are retrieved successfully",listTasks));
     }
 
+    //export all tasks as newline-delimited JSON - streamed, so it works for any number of tasks
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    @Operation(summary = "Export all tasks")
+    @DefaultExceptionMessage(defaultMessage = "Sth went wrong while exporting tasks !!!")
+    @PreAuthorize("hasAuthority('Manager')")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        taskService.exportAllTasks(response.getOutputStream());
+    }
+
     //retrieve all tasks by manager
     @GetMapping("/project-manager")
     @Operation(summary = "Retrieve all tasks by project manager")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving all tasks by project manager !!!")
     @PreAuthorize("hasAuthority('Manager')")
-    public ResponseEntity<ResponseWrapper> readAllByProjectManager() throws TicketNGProjectException {
+    public ResponseEntity<ResponseWrapper> readAllByProjectManager(NativeWebRequest webRequest) throws TicketNGProjectException {
+        if (eTagUtil.checkNotModified(webRequest, Task.class, Project.class, User.class)) {
+            return null;
+        }
         List<TaskDTO> listTasks = taskService.listAllTasksByProjectManager();
         return ResponseEntity.ok(new ResponseWrapper("All tasks by project manager are retrieved successfully",listTasks));
     }
@@ -53,7 +83,10 @@ public class TaskController {
     @Operation(summary = "Retrieve task by id")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving task by id !!!")
     @PreAuthorize("hasAnyAuthority('Manager','Employee')")
-    public ResponseEntity<ResponseWrapper> readById(@PathVariable("id") Long id) throws TicketNGProjectException {
+    public ResponseEntity<ResponseWrapper> readById(@PathVariable("id") Long id, NativeWebRequest webRequest) throws TicketNGProjectException {
+        if (eTagUtil.checkNotModified(webRequest, Task.class, Project.class, User.class)) {
+            return null;
+        }
         TaskDTO taskDTO = taskService.findById(id);
         return ResponseEntity.ok(new ResponseWrapper("Task by id is retrieved successfully",taskDTO));
     }
@@ -68,6 +101,16 @@ public class TaskController {
         return ResponseEntity.ok(new ResponseWrapper("Task is created successfully",createdTask));
     }
 
+    //create many tasks at once - in one transaction
+    @PostMapping("/batch")
+    @Operation(summary = "Create tasks")
+    @DefaultExceptionMessage(defaultMessage = "Sth went wrong while creating tasks !!!")
+    @PreAuthorize("hasAuthority('Manager')")
+    public ResponseEntity<ResponseWrapper> createAll(@RequestBody List<TaskDTO> taskDTOs) throws TicketNGProjectException {
+        List<TaskDTO> createdTasks = taskService.saveAll(taskDTOs);
+        return ResponseEntity.ok(new ResponseWrapper("Tasks are created successfully",createdTasks));
+    }
+
     //delete task by id
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete task")
@@ -93,7 +136,10 @@ public class TaskController {
     @Operation(summary = "Retrieve all non-completed tasks")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving non-completed tasks !!!")
     @PreAuthorize("hasAuthority('Employee')")
-    public ResponseEntity<ResponseWrapper> employeeReadNonCompletedTasks() throws TicketNGProjectException {
+    public ResponseEntity<ResponseWrapper> employeeReadNonCompletedTasks(NativeWebRequest webRequest) throws TicketNGProjectException {
+        if (eTagUtil.checkNotModified(webRequest, Task.class, Project.class, User.class)) {
+            return null;
+        }
         List<TaskDTO> listTaskDTO = taskService.listAllTasksByStatusIsNot(Status.COMPLETE);
         return ResponseEntity.ok(new ResponseWrapper("Non-completed tasks are retrieved successfully",listTaskDTO));
     }
@@ -1,23 +1,20 @@
 package com.cyber.controller;
 
 import com.cyber.annotation.DefaultExceptionMessage;
-import com.cyber.dto.MailDTO;
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.UserDTO;
-import com.cyber.entity.ConfirmationToken;
 import com.cyber.entity.ResponseWrapper;
 import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
-import com.cyber.util.MapperUtil;
-import com.cyber.service.ConfirmationTokenService;
 import com.cyber.service.RoleService;
 import com.cyber.service.UserService;
+import com.cyber.util.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
@@ -27,19 +24,14 @@ import java.util.List;
 @Tag(name = "User Controller",description = "User API")
 public class UserController {
 
-    @Value("${app.local-url}")
-    private String BASE_URL;
-
     private UserService userService;
-    private MapperUtil mapperUtil;
     private RoleService roleService;
-    private ConfirmationTokenService confirmationTokenService;
+    private ETagUtil eTagUtil;
 
-    public UserController(UserService userService, MapperUtil mapperUtil, RoleService roleService, ConfirmationTokenService confirmationTokenService) {
+    public UserController(UserService userService, RoleService roleService, ETagUtil eTagUtil) {
         this.userService = userService;
-        this.mapperUtil = mapperUtil;
         this.roleService = roleService;
-        this.confirmationTokenService = confirmationTokenService;
+        this.eTagUtil = eTagUtil;
     }
 
     //admin is able to create user
@@ -49,19 +41,34 @@ public class UserController {
     @PreAuthorize("hasAuthority('Admin')")
     public ResponseEntity<ResponseWrapper> doRegister(@RequestBody UserDTO userDTO) throws TicketNGProjectException {
         //create user, save it in DB, and then get it as dto
-        UserDTO createdUser = userService.save(userDTO);
-        sendEmail(createEmail(createdUser));
+        UserDTO createdUser = userService.register(userDTO);
         return ResponseEntity.ok(new ResponseWrapper("User has been created",createdUser));
     }
 
-    //admin is able to retrieve all the users
+    //admin is able to create many users at once - confirmation emails are sent in the background
+    @PostMapping("/import")
+    @Operation(summary = "Create new accounts")
+    @DefaultExceptionMessage(defaultMessage = "Sth went wrong while importing users !!!")
+    @PreAuthorize("hasAuthority('Admin')")
+    public ResponseEntity<ResponseWrapper> doImport(@RequestBody List<UserDTO> userDTOs) throws TicketNGProjectException {
+        List<UserDTO> createdUsers = userService.registerAll(userDTOs);
+        return ResponseEntity.ok(new ResponseWrapper("Users have been created",createdUsers));
+    }
+
+    //admin is able to retrieve all the users - page by page, [after] is [nextCursor] of the previous page
     @GetMapping
     @Operation(summary = "Read all users")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving users !!!")
     @PreAuthorize("hasAuthority('Admin')")
-    public ResponseEntity<ResponseWrapper> readAll()  {
+    public ResponseEntity<ResponseWrapper> readAll(@RequestParam(required = false) Long after,
+                                                   @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_LIMIT) int limit,
+                                                   NativeWebRequest webRequest)  {
+        //polling clients get 304 while nothing has changed - nothing is mapped or serialized
+        if (eTagUtil.checkNotModified(webRequest, User.class)) {
+            return null;
+        }
         //retrieve users with business logic, and bind it to API
-        List<UserDTO> result = userService.listAllUsers();
+        CursorPageDTO<UserDTO> result = userService.listAllUsers(after, limit);
         return ResponseEntity.ok(new ResponseWrapper("Users are retrieved successfully",result));
     }
 
@@ -70,7 +77,10 @@ public class UserController {
     @Operation(summary = "Read certain user by username")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving certain user !!!")
     //@PreAuthorize("hasAuthority('Admin')")
-    public ResponseEntity<ResponseWrapper> readByUsername(@PathVariable("username") String username) throws AccessDeniedException {
+    public ResponseEntity<ResponseWrapper> readByUsername(@PathVariable("username") String username, NativeWebRequest webRequest) throws AccessDeniedException {
+        if (eTagUtil.checkNotModified(webRequest, User.class)) {
+            return null;
+        }
         UserDTO userDTO = userService.findByUserName(username);
         return ResponseEntity.ok(new ResponseWrapper("Certain user is retrieved successfully",userDTO));
     }
@@ -99,39 +109,14 @@ public class UserController {
     @Operation(summary = "Retrieve users based on their roles")
     @PreAuthorize("hasAnyAuthority('Admin','Manager')")
     @DefaultExceptionMessage(defaultMessage = "Sth went wrong while retrieving users, based on their roles !!!")
-    public ResponseEntity<ResponseWrapper> readByRole(@RequestParam String role) {
-        List<UserDTO> userList = userService.listAllByRole(role);
+    public ResponseEntity<ResponseWrapper> readByRole(@RequestParam String role,
+                                                      @RequestParam(required = false) Long after,
+                                                      @RequestParam(defaultValue = "" + CursorPageDTO.DEFAULT_LIMIT) int limit,
+                                                      NativeWebRequest webRequest) {
+        if (eTagUtil.checkNotModified(webRequest, User.class)) {
+            return null;
+        }
+        CursorPageDTO<UserDTO> userList = userService.listAllByRole(role, after, limit);
         return ResponseEntity.ok(new ResponseWrapper("Users are retrieved successfully based on the roles",userList));
     }
-
-    // ****************** methods ******************
-
-    private MailDTO createEmail(UserDTO userDTO){
-
-        User user = mapperUtil.convert(userDTO,new User());
-        ConfirmationToken confirmationToken = new ConfirmationToken(user);
-        confirmationToken.setIsDeleted(false);
-
-        ConfirmationToken createdConfirmationToken = confirmationTokenService.save(confirmationToken);
-
-        return MailDTO
-                .builder()
-                .emailTo(user.getUserName())
-                .token(createdConfirmationToken.getToken())
-                .subject("Confirm Registration")
-                .message("To confirm your account, please click here: ")
-                .url(BASE_URL + "/confirmation?token=")
-                .build();
-    }
-
-    private void sendEmail(MailDTO mailDTO){
-
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-
-        mailMessage.setTo(mailDTO.getEmailTo());
-        mailMessage.setSubject(mailDTO.getSubject());
-        mailMessage.setText(mailDTO.getMessage() + mailDTO.getUrl() + mailDTO.getToken());
-
-        confirmationTokenService.sendEmail(mailMessage);
-    }
 }
@@ -0,0 +1,31 @@
+package com.cyber.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+
+//what security needs to know about the logged-in user - kept in memory, so no password in here !!
+@Getter
+@AllArgsConstructor
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String userName;
+    private final boolean enabled;
+    private final String role;
+
+    //authentication.getName() returns [id] - check WebSecurityConfig class !!
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role));
+    }
+}
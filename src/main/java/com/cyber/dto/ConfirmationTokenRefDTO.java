@@ -0,0 +1,24 @@
+package com.cyber.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+//what confirmation needs from a token - filled by ConfirmationTokenRepository projection, kept in ConfirmationTokenCache
+//immutable, so a cached value cannot be changed by whoever reads it
+@Getter
+@AllArgsConstructor
+public final class ConfirmationTokenRefDTO {
+
+    private final Long id;
+    private final String token;
+    private final Long userId;
+    private final LocalDate expiryDate;
+
+    //same rule as ConfirmationToken.isTokenValid
+    public boolean isValid() {
+        LocalDate now = LocalDate.now();
+        return expiryDate.isEqual(now) || expiryDate.isEqual(now.plusDays(1));
+    }
+}
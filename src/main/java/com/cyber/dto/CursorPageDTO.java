@@ -0,0 +1,39 @@
+package com.cyber.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//one page of a keyset (cursor) query - [nextCursor] is the id to send as [after] for the next page, null on the last page
+@Getter
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    //one more row than requested is fetched - if it is there, there is a next page
+    public static Pageable pageable(int limit) {
+        return PageRequest.of(0, normalize(limit) + 1);
+    }
+
+    public static <E, T> CursorPageDTO<T> of(List<E> rows, int limit, Function<E, Long> idOf, Function<E, T> mapper) {
+        int size = normalize(limit);
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? idOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    private static int normalize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+}
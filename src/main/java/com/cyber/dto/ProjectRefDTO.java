@@ -0,0 +1,16 @@
+package com.cyber.dto;
+
+import com.cyber.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//what is needed to refer to a project by its code - filled by ProjectRepository projection
+@Getter
+@AllArgsConstructor
+public class ProjectRefDTO {
+
+    private Long id;
+    private String projectCode;
+    private Status projectStatus;
+    private Long assignedManagerId;
+}
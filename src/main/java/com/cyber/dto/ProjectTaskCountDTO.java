@@ -0,0 +1,14 @@
+package com.cyber.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//completed & not completed task counts of one project - filled by TaskRepository aggregate query
+@Getter
+@AllArgsConstructor
+public class ProjectTaskCountDTO {
+
+    private Long projectId;
+    private Long completeTaskCount;
+    private Long incompleteTaskCount;
+}
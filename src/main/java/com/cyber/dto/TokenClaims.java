@@ -0,0 +1,29 @@
+package com.cyber.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+//verified content of a JWT - parsed once per request and then only read, so it has no setters !!
+@Getter
+@AllArgsConstructor
+public final class TokenClaims {
+
+    private final String subject; //username
+    private final Long id;
+    private final Date issuedAt;
+    private final Date expiration;
+    //null for tokens issued before role & enabled were added to the payload
+    private final String role;
+    private final Boolean enabled;
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+
+    //token carries everything security needs, no need to load the user
+    public boolean isSelfContained() {
+        return id != null && role != null && enabled != null;
+    }
+}
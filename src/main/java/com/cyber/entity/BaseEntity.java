@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -16,8 +19,11 @@ import java.time.LocalDateTime;
 @EntityListeners(BaseEntityListener.class)
 public class BaseEntity {
 
+    //not IDENTITY - it makes hibernate insert each row immediately and disables JDBC batching !!
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = TableSequenceGenerator.NAME)
+    @GenericGenerator(name = TableSequenceGenerator.NAME, strategy = "com.cyber.entity.TableSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"))
     private Long id;
 
     //@Column - hibernate server validation structure
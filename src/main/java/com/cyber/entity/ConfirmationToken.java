@@ -6,7 +6,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.Where;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
@@ -14,7 +16,10 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "confirmation_email")
+//expired & used tokens are swept
+@Table(name = "confirmation_email", indexes = {
+        @Index(name = "idx_confirmation_email_expiry_date", columnList = "expiryDate"),
+        @Index(name = "idx_confirmation_email_is_deleted", columnList = "isDeleted")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +27,7 @@ import java.util.UUID;
 @Where(clause = "is_deleted=false")
 public class ConfirmationToken extends BaseEntity{
 
+    @Column(unique = true) //confirmation link is looked up by token - unique index, no table scan
     private String token;
 
     @OneToOne(targetEntity = User.class) //uni-directional 1-2-1 relationship
@@ -0,0 +1,40 @@
+package com.cyber.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//email waiting to be sent - written in the same transaction as the data it is about, sent later by MailOutboxService
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "idx_mail_outbox_pending", columnList = "sentAt, nextAttemptAt"))
+public class MailOutbox extends BaseEntity{
+
+    private String emailTo;
+    private String subject;
+
+    @Column(length = 4000)
+    private String text;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public MailOutbox(String emailTo, String subject, String text) {
+        this.emailTo = emailTo;
+        this.subject = subject;
+        this.text = text;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+}
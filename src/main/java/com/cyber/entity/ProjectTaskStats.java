@@ -0,0 +1,32 @@
+package com.cyber.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+//completed & not completed task counts of one project - changed with the tasks, so progress is read without counting
+//not a BaseEntity - one row per project, keyed by project id, no audit columns to update on each increment
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "project_task_stats")
+public class ProjectTaskStats {
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private long completeTaskCount;
+    @Column(nullable = false)
+    private long incompleteTaskCount;
+
+    public ProjectTaskStats(Long projectId) {
+        this.projectId = projectId;
+    }
+}
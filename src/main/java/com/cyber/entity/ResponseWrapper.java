@@ -1,5 +1,6 @@
 package com.cyber.entity;
 
+import com.cyber.dto.CursorPageDTO;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import org.springframework.http.HttpStatus;
@@ -16,6 +17,7 @@ public class ResponseWrapper {
     private String message;
     private Integer code;
     private Object data;
+    private Long nextCursor; //keyset pagination - id to send as [after] for the next page
 
     public ResponseWrapper(String message, Object data) {
         this.message = message;
@@ -24,6 +26,11 @@ public class ResponseWrapper {
         this.success=true;
     }
 
+    public ResponseWrapper(String message, CursorPageDTO<?> page) {
+        this(message, page.getItems());
+        this.nextCursor = page.getNextCursor();
+    }
+
     public ResponseWrapper(String message) {
         this.message = message;
         this.code=HttpStatus.OK.value();
@@ -0,0 +1,22 @@
+package com.cyber.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+//pooled sequence per table - uses the [table]_id_seq sequences postgres created for the former identity columns,
+//so ids of existing rows continue - hibernate gets [increment_size] ids per round-trip and can batch inserts
+public class TableSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String NAME = "table_sequence";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        params.putIfAbsent(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + "_id_seq");
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cyber.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+//version of one table for ETag - incremented in the transaction of each change, so a conditional GET reads one row instead of the table
+//not a BaseEntity - one row per table, keyed by table name
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "table_versions")
+public class TableVersion {
+
+    @Id
+    private String tableName;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,26 @@
+package com.cyber.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//every token of the user which is issued before [revokedAt] is not accepted anymore
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation extends BaseEntity{
+
+    private Long userId;
+    private LocalDateTime revokedAt;
+
+    public TokenRevocation(Long userId, LocalDateTime revokedAt) {
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -14,11 +14,15 @@ import javax.persistence.*;
 @Getter
 @Setter
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = { //keyset pagination
+        @Index(name = "idx_users_first_name_id", columnList = "firstName, id"),
+        @Index(name = "idx_users_role_first_name_id", columnList = "role_id, firstName, id")})
 @Where(clause = "is_deleted=false") //this will automatically be added to each UserRepository query !!
 @JsonIgnoreProperties(value = {"hibernateLazyInitializer"},ignoreUnknown = true)
 public class User extends BaseEntity{
 
+    //not null - the (first_name, id) keyset comparison would skip users without a first name
+    @Column(nullable = false)
     private String firstName;
     private String lastName;
     private String userName;
@@ -30,7 +34,7 @@ public class User extends BaseEntity{
     private String phone;
 
     //many roles can be assigned to one user
-    @ManyToOne //not @Lazy, @Eager !!
+    @ManyToOne(fetch = FetchType.LAZY) //not joined - description comes from RoleCatalog by role id
     @JoinColumn(name = "role_id")
     private Role role;
 
@@ -0,0 +1,63 @@
+package com.cyber.filter;
+
+import com.cyber.util.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//runs before spring security, so token check is part of the measured time
+//latency per endpoint & role as histogram, breakdown of the call as Server-Timing header & one log line
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "api.endpoint.requests";
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.clear();
+            //only API methods are named (EndpointTimingAspect) - swagger, actuator & unknown urls are not recorded
+            if (timings.getEndpoint() != null) {
+                //small JSON bodies already carry the header (TimedJsonHttpMessageConverter), this is for 304 & empty responses
+                if (!response.isCommitted()) {
+                    response.setHeader(SERVER_TIMING, timings.toServerTiming());
+                }
+                Timer.builder(METRIC)
+                        .description("API calls, from the first filter to the last byte written")
+                        .tag("endpoint", timings.getEndpoint())
+                        .tag("role", timings.getRole())
+                        .tag("status", String.valueOf(response.getStatus()))
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(timings.elapsedNanos(), TimeUnit.NANOSECONDS);
+                log.info("api_request {}", timings.toLogLine(response.getStatus()));
+            }
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.cyber.filter;
 
-import com.cyber.entity.User;
+import com.cyber.cache.PrincipalCache;
+import com.cyber.cache.VerifiedTokenCache;
+import com.cyber.dto.AuthenticatedUser;
+import com.cyber.dto.TokenClaims;
+import com.cyber.jfr.AuthenticationEvent;
 import com.cyber.service.SecurityService;
+import com.cyber.service.TokenRevocationService;
 import com.cyber.util.JWTUtil;
+import com.cyber.util.RequestTimings;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,17 +20,22 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.file.AccessDeniedException;
 
 @Service
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
     private final SecurityService securityService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
-    public SecurityFilter(JWTUtil jwtUtil, SecurityService securityService) {
+    public SecurityFilter(JWTUtil jwtUtil, SecurityService securityService, VerifiedTokenCache verifiedTokenCache, PrincipalCache principalCache, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
         this.securityService = securityService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     //check if security is good, if token & user are valid, if user has correct authorization
@@ -35,34 +45,49 @@ public class SecurityFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String authorizationHeader = httpServletRequest.getHeader("Authorization");
-        String token = null;
-        String username = null;
-
-        // this is for Open API
-        if (authorizationHeader != null) {
-            token = authorizationHeader.replace("Bearer","");
-            username = jwtUtil.extractUsername(token);
-        }
 
         //do authentication - major part of the security
         //before each API call, check 1. if token is valid & 2. if user is valid
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = securityService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(token, userDetails) && checkIfUserIsValid(username)) {
+        // this is for Open API
+        if (authorizationHeader != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = System.nanoTime();
+            AuthenticationEvent event = new AuthenticationEvent();
+            event.begin();
+            String token = authorizationHeader.replace("Bearer","").trim();
+            //token is parsed & verified only once, claims are reused for the rest of the request
+            //and for the next requests with the same token, until it expires
+            TokenClaims claims = verifiedTokenCache.get(token, jwtUtil::validateToken);
+            AuthenticatedUser user = resolveUser(claims);
+            if (user != null && jwtUtil.validateToken(claims, user) && user.isEnabled()) {
                 UsernamePasswordAuthenticationToken currentUser =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 
                 currentUser.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
                 SecurityContextHolder.getContext().setAuthentication(currentUser);
             }
+            RequestTimings.record(RequestTimings.Phase.AUTH, start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.uri = httpServletRequest.getRequestURI();
+                event.authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+                event.commit();
+            }
         }
 
         filterChain.doFilter(httpServletRequest, httpServletResponse);
     }
 
-    private boolean checkIfUserIsValid(String username) throws AccessDeniedException {
-        User currentUser = securityService.loadUser(username);
-        return currentUser != null && currentUser.getEnabled();
+    private AuthenticatedUser resolveUser(TokenClaims claims) {
+        //deleted user or changed role - token is not accepted anymore, user has to login again
+        if (tokenRevocationService.isRevoked(claims)) {
+            return null;
+        }
+        //new tokens carry id, role & enabled - no DB, no cache
+        if (claims.isSelfContained()) {
+            return new AuthenticatedUser(claims.getId(), claims.getSubject(), claims.getEnabled(), claims.getRole());
+        }
+        //older tokens - user is loaded from DB once, and then served from memory until it is updated, confirmed or deleted
+        return principalCache.get(claims.getSubject(), securityService::loadAuthenticatedUser);
     }
 
 }
@@ -0,0 +1,22 @@
+package com.cyber.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//token check of one API call in SecurityFilter
+@Name("com.cyber.Authentication")
+@Label("Authentication")
+@Description("Bearer token resolved to a user by SecurityFilter")
+@Category({"TicketNG", "Security"})
+@StackTrace(false)
+public class AuthenticationEvent extends jdk.jfr.Event {
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+}
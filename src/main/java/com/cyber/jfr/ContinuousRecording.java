@@ -0,0 +1,63 @@
+package com.cyber.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+//always-on flight recording - JDK default profile + our events (jfr/ticketng.jfc)
+//ring buffer on disk, dumped on exit, or any time with: jcmd <pid> JFR.dump name=ticketng
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true")
+public class ContinuousRecording {
+
+    public static final String SETTINGS = "jfr/ticketng.jfc";
+
+    private final Recording recording;
+
+    public ContinuousRecording(@Value("${jfr.recording.max-age}") Duration maxAge,
+                               @Value("${jfr.recording.max-size}") DataSize maxSize,
+                               @Value("${jfr.recording.destination}") Path destination) throws IOException, ParseException {
+        recording = new Recording(settings());
+        recording.setName("ticketng");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info("Flight recording started, dumped to {} on exit", destination);
+    }
+
+    //ours win where both profiles set the same event
+    public static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        return settings;
+    }
+
+    //stopping writes the recording to its destination - context is closed before the JVM dumps on exit
+    @PreDestroy
+    public void stop() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.cyber.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//one MapperUtil.convert call - nested objects are part of the same event
+@Name("com.cyber.Mapping")
+@Label("Mapping")
+@Description("Entity / DTO converted by MapperUtil")
+@Category({"TicketNG", "Mapping"})
+@StackTrace(false)
+public class MappingEvent extends jdk.jfr.Event {
+
+    @Label("Source Type")
+    public Class<?> sourceType;
+
+    @Label("Target Type")
+    public Class<?> targetType;
+
+    @Label("Compiled")
+    @Description("False when the type pair fell back to ModelMapper")
+    public boolean compiled;
+}
@@ -0,0 +1,20 @@
+package com.cyber.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+//BCrypt hash or check - stack trace shows who asked for it (save, update, login)
+@Name("com.cyber.PasswordEncoder")
+@Label("Password Encoder")
+@Description("Password hashed or matched by the password encoder")
+@Category({"TicketNG", "Security"})
+public class PasswordEncoderEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
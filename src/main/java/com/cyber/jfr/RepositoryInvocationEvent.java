@@ -0,0 +1,24 @@
+package com.cyber.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+//one repository method call, including its queries & the entities it loads
+@Name("com.cyber.RepositoryInvocation")
+@Label("Repository Invocation")
+@Description("Spring Data repository method call")
+@Category({"TicketNG", "Database"})
+public class RepositoryInvocationEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows")
+    @Description("-1 when the result is not a list of rows (counts, streams, updates)")
+    public long rows;
+}
@@ -0,0 +1,19 @@
+package com.cyber.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//signature & expiration check of a JWT - only happens on token cache misses
+@Name("com.cyber.TokenParse")
+@Label("Token Parse")
+@Description("JWT parsed and verified by JWTUtil")
+@Category({"TicketNG", "Security"})
+@StackTrace(false)
+public class TokenParseEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -1,9 +1,15 @@
 package com.cyber.repository;
 
+import com.cyber.dto.ConfirmationTokenRefDTO;
 import com.cyber.entity.ConfirmationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,27 @@ public interface ConfirmationTokenRepository extends JpaRepository<ConfirmationT
 
     Optional<ConfirmationToken> findByToken(String token);
 
+    //token -> ids & expiry only - user is not loaded, value is cached as it is
+    @Query("SELECT new com.cyber.dto.ConfirmationTokenRefDTO(c.id, c.token, c.user.id, c.expiryDate) FROM ConfirmationToken c WHERE c.token = ?1")
+    Optional<ConfirmationTokenRefDTO> findRefByToken(String token);
+
+    //soft delete of a used token - @PreUpdate is not called, audit columns are set here
+    @Transactional
+    @Modifying
+    @Query("UPDATE ConfirmationToken c SET c.isDeleted = true, c.lastUpdateDateTime = ?2, c.lastUpdateUserId = ?3 WHERE c.id = ?1")
+    int softDeleteById(Long id, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+    //hard deletes, at most [limit] rows per call so locks are held shortly - two queries, so each one is a range scan of its own index
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM confirmation_email WHERE id IN " +
+                   "(SELECT id FROM confirmation_email WHERE expiry_date < ?1 LIMIT ?2)", nativeQuery = true)
+    int deleteExpiredBefore(LocalDate date, int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM confirmation_email WHERE id IN " +
+                   "(SELECT id FROM confirmation_email WHERE is_deleted = true LIMIT ?1)", nativeQuery = true)
+    int deleteUsed(int limit);
+
 }
@@ -0,0 +1,42 @@
+package com.cyber.repository;
+
+import com.cyber.entity.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox,Long> {
+
+    //rows are locked only while they are claimed - other workers (or other app instances) skip them, not wait for them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) //LockOptions.SKIP_LOCKED
+    @Query("SELECT m FROM MailOutbox m WHERE m.sentAt IS NULL AND m.attempts < ?1 AND m.nextAttemptAt <= ?2 ORDER BY m.id")
+    List<MailOutbox> findAllDue(int maxAttempts, LocalDateTime now, Pageable pageable);
+
+    //results of a batch - written after SMTP is done, no row lock is held while sending
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MailOutbox m SET m.sentAt = ?2 WHERE m.id IN ?1")
+    int markSent(List<Long> ids, LocalDateTime sentAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MailOutbox m SET m.attempts = ?2, m.nextAttemptAt = ?3, m.lastError = ?4 WHERE m.id = ?1")
+    int markFailed(Long id, int attempts, LocalDateTime nextAttemptAt, String lastError);
+
+    long countBySentAtIsNullAndAttemptsLessThan(int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MailOutbox m WHERE m.sentAt < ?1")
+    int deleteAllSentBefore(LocalDateTime time);
+}
@@ -1,19 +1,47 @@
 package com.cyber.repository;
 
+import com.cyber.dto.ProjectRefDTO;
 import com.cyber.entity.Project;
 import com.cyber.entity.User;
 import com.cyber.enums.Status;
+import com.cyber.util.NdjsonExporter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project,Long> {
 
+    //methods returning projects fetch manager in the same select (roles come from RoleCatalog) - projects are mapped to DTO after the session is closed (no open-in-view)
+    @EntityGraph(attributePaths = "assignedManager")
     Project findByProjectCode(String code);
+    @EntityGraph(attributePaths = "assignedManager")
     List<Project> findAllByAssignedManager(User manager);
+    //manager [id] is the foreign key - users table is only joined for the graph
+    @EntityGraph(attributePaths = "assignedManager")
+    List<Project> findAllByAssignedManagerId(Long managerId);
+    @EntityGraph(attributePaths = "assignedManager")
     List<Project> findAllByProjectStatusIsNot(Status status);
 
+    //code -> id/status/manager id only - manager is not joined, its id is the foreign key
+    @Query("SELECT new com.cyber.dto.ProjectRefDTO(p.id, p.projectCode, p.projectStatus, p.assignedManager.id) FROM Project p WHERE p.projectCode = ?1")
+    ProjectRefDTO findRefByProjectCode(String code);
+
+    //keyset pagination - next page starts right after the last id of the previous page
+    @EntityGraph(attributePaths = "assignedManager")
+    List<Project> findAllByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    //export - rows are streamed with a DB cursor, manager comes in the same row
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + NdjsonExporter.BATCH_SIZE))
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.assignedManager ORDER BY p.id")
+    Stream<Project> streamAll();
+
 
 }
@@ -0,0 +1,52 @@
+package com.cyber.repository;
+
+import com.cyber.dto.ProjectTaskCountDTO;
+import com.cyber.entity.ProjectTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectTaskStatsRepository extends JpaRepository<ProjectTaskStats,Long> {
+
+    @Query("SELECT new com.cyber.dto.ProjectTaskCountDTO(s.projectId, s.completeTaskCount, s.incompleteTaskCount) " +
+           "FROM ProjectTaskStats s WHERE s.projectId IN ?1")
+    List<ProjectTaskCountDTO> findAllByProjectIdIn(Collection<Long> projectIds);
+
+    //relative change - row lock of the update keeps concurrent task changes from overwriting each other
+    @Modifying
+    @Query("UPDATE ProjectTaskStats s SET s.completeTaskCount = s.completeTaskCount + ?2, " +
+           "s.incompleteTaskCount = s.incompleteTaskCount + ?3 WHERE s.projectId = ?1")
+    int increment(Long projectId, long completeDelta, long incompleteDelta);
+
+    //project without a counter row - nodes may insert the row at the same time, only one of them does
+    @Modifying
+    @Query(value = "INSERT INTO project_task_stats (project_id, complete_task_count, incomplete_task_count) " +
+                   "VALUES (?1, ?2, ?3) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long projectId, long completeTaskCount, long incompleteTaskCount);
+
+    //reconciliation - rows are updated in place, so increments of concurrent task changes wait for the row instead of missing it
+    @Modifying
+    @Query(value = "INSERT INTO project_task_stats (project_id, complete_task_count, incomplete_task_count) " +
+                   "SELECT p.id, 0, 0 FROM projects p " +
+                   "WHERE p.is_deleted = false AND NOT EXISTS (SELECT 1 FROM project_task_stats s WHERE s.project_id = p.id) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissingStats();
+
+    @Modifying
+    @Query(value = "DELETE FROM project_task_stats s " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM projects p WHERE p.id = s.project_id AND p.is_deleted = false)", nativeQuery = true)
+    int deleteStatsOfDeletedProjects();
+
+    @Modifying
+    @Query(value = "UPDATE project_task_stats s SET " +
+                   "complete_task_count = (SELECT count(*) FROM tasks t " +
+                   "WHERE t.project_id = s.project_id AND t.is_deleted = false AND t.task_status = 'COMPLETE'), " +
+                   "incomplete_task_count = (SELECT count(*) FROM tasks t " +
+                   "WHERE t.project_id = s.project_id AND t.is_deleted = false AND t.task_status <> 'COMPLETE')", nativeQuery = true)
+    int updateAllStatsFromTasks();
+}
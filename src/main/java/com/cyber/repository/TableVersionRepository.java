@@ -0,0 +1,21 @@
+package com.cyber.repository;
+
+import com.cyber.entity.TableVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TableVersionRepository extends JpaRepository<TableVersion,String> {
+
+    //relative change - row lock of the update keeps concurrent commits from overwriting each other
+    @Modifying
+    @Query("UPDATE TableVersion v SET v.version = v.version + 1 WHERE v.tableName = ?1")
+    int increment(String tableName);
+
+    //first change of the table - nodes may insert the row at the same time, only one of them does
+    @Modifying
+    @Query(value = "INSERT INTO table_versions (table_name, version) VALUES (?1, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(String tableName);
+}
@@ -4,33 +4,61 @@ import com.cyber.entity.Project;
 import com.cyber.entity.Task;
 import com.cyber.entity.User;
 import com.cyber.enums.Status;
+import com.cyber.util.NdjsonExporter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task,Long> {
 
+    //methods returning tasks fetch everything TaskDTO needs in the same select (roles come from RoleCatalog) - tasks are mapped to DTO after the session is closed (no open-in-view)
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
     List<Task> findAll();
 
-    //JPQL: t.project.projectCode -- JOIN
-    @Query("SELECT count(t) FROM Task t WHERE t.project.projectCode = ?1 AND t.taskStatus <> 'COMPLETE'")
-    int totalNonCompletedTasks(String projectCode);
+    //query instead of EntityManager.find - find does not apply the graph as deep as manager's role
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
+    @Query("SELECT t FROM Task t WHERE t.id = ?1")
+    Optional<Task> findById(Long id);
 
-    @Query(value = "SELECT count(*) " +
-                   "FROM tasks t JOIN projects p ON t.project_id = p.id " +
-                   "WHERE p.project_code = ?1 AND t.task_status = 'COMPLETE'",nativeQuery = true)
-    int totalCompletedTasks(String projectCode);
+    //keyset pagination - next page starts right after the last id of the previous page
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
+    List<Task> findAllByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
 
+    //export - rows are streamed with a DB cursor, related project & users come in the same row
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + NdjsonExporter.BATCH_SIZE))
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project p LEFT JOIN FETCH p.assignedManager LEFT JOIN FETCH t.assignedEmployee ORDER BY t.id")
+    Stream<Task> streamAll();
+
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
     List<Task> findAllByProject(Project project);
 
-    List<Task> findAllByTaskStatusIsNotAndAssignedEmployee(Status status, User user);
+    //soft delete all tasks of a project with one statement - @PreUpdate is not called, audit columns are set here
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = true, t.lastUpdateDateTime = ?2, t.lastUpdateUserId = ?3 " +
+           "WHERE t.project.id = ?1 AND t.isDeleted = false")
+    int softDeleteAllByProjectId(Long projectId, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+    //user [id] of the logged-in user comes from the token - the user entity is not needed to query
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
+    List<Task> findAllByTaskStatusIsNotAndAssignedEmployeeId(Status status, Long employeeId);
 
-    List<Task> findAllByProjectAssignedManager(User manager);
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
+    List<Task> findAllByProjectAssignedManagerId(Long managerId);
 
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
     List<Task> findAllByTaskStatusAndAssignedEmployee(Status status, User user);
 
+    @EntityGraph(attributePaths = {"project.assignedManager", "assignedEmployee"})
     List<Task> findAllByAssignedEmployee(User employee);
 }
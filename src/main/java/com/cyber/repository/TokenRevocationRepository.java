@@ -0,0 +1,23 @@
+package com.cyber.repository;
+
+import com.cyber.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation,Long> {
+
+    List<TokenRevocation> findAllByRevokedAtAfter(LocalDateTime dateTime);
+
+    //revocations older than token validity do not matter anymore - all those tokens are expired
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < ?1")
+    int deleteAllRevokedBefore(LocalDateTime dateTime);
+}
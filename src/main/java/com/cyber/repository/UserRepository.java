@@ -3,10 +3,14 @@ package com.cyber.repository;
 import com.cyber.dto.TaskDTO;
 import com.cyber.entity.Task;
 import com.cyber.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,12 +19,30 @@ public interface UserRepository extends JpaRepository<User,Long> {
     //@Where -- findByUserNameAndIsDeletedFalse();
     User findByUserName(String username);
 
+    //bulk import - all existing usernames of the batch with one query
+    List<User> findAllByUserNameIn(Collection<String> usernames);
+
     //hard delete - not good practice - when we delete anything in UI, we should not be deleting data from DB - we should keep saving data!!
     //@Where -- deleteByUserNameAndIsDeletedFalse();
     @Transactional // we need this annotation for deleting
     void deleteByUserName(String username);
 
-    List<User> findAllByRoleDescriptionIgnoreCase(String description);
+    //keyset pagination on (first_name, id) - first page
+    List<User> findAllByOrderByFirstNameAscIdAsc(Pageable pageable);
+
+    //next pages start right after the [after] user - row comparison uses the (first_name, id) index
+    @Query(value = "SELECT u.* FROM users u, (SELECT first_name, id FROM users WHERE id = :after) c " +
+                   "WHERE u.is_deleted = false AND (u.first_name, u.id) > (c.first_name, c.id) " +
+                   "ORDER BY u.first_name, u.id", nativeQuery = true)
+    List<User> findAllAfter(@Param("after") Long after, Pageable pageable);
+
+    //users of a role - (role_id, first_name, id) index, role id comes from RoleCatalog
+    List<User> findAllByRoleIdOrderByFirstNameAscIdAsc(Long roleId, Pageable pageable);
+
+    @Query(value = "SELECT u.* FROM users u, (SELECT first_name, id FROM users WHERE id = :after) c " +
+                   "WHERE u.is_deleted = false AND u.role_id = :roleId AND (u.first_name, u.id) > (c.first_name, c.id) " +
+                   "ORDER BY u.first_name, u.id", nativeQuery = true)
+    List<User> findAllByRoleAfter(@Param("roleId") Long roleId, @Param("after") Long after, Pageable pageable);
 
 
 
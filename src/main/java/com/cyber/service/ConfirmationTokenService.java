@@ -1,13 +1,18 @@
 package com.cyber.service;
 
+import com.cyber.dto.ConfirmationTokenRefDTO;
 import com.cyber.entity.ConfirmationToken;
+import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
-import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
 
 public interface ConfirmationTokenService {
 
     ConfirmationToken save(ConfirmationToken confirmationToken);
-    void sendEmail(SimpleMailMessage email);
-    ConfirmationToken readByToken(String token) throws TicketNGProjectException;
-    void delete(ConfirmationToken confirmationToken);
+    List<ConfirmationToken> saveAll(List<ConfirmationToken> confirmationTokens);
+    void sendConfirmations(List<User> users);
+    ConfirmationTokenRefDTO readByToken(String token) throws TicketNGProjectException;
+    void delete(ConfirmationTokenRefDTO confirmationToken);
+    int sweep();
 }
@@ -1,23 +1,41 @@
 package com.cyber.service;
 
+import com.cyber.cache.ConfirmationTokenCache;
+import com.cyber.dto.ConfirmationTokenRefDTO;
+import com.cyber.dto.MailDTO;
+import com.cyber.entity.BaseEntityListener;
 import com.cyber.entity.ConfirmationToken;
+import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
 import com.cyber.repository.ConfirmationTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 public class ConfirmationTokenServiceImpl implements ConfirmationTokenService {
 
+    @Value("${app.local-url}")
+    private String BASE_URL;
+
     private ConfirmationTokenRepository confirmationTokenRepository;
-    private JavaMailSender javaMailSender;
+    private MailOutboxService mailOutboxService;
+    private ConfirmationTokenCache confirmationTokenCache;
+    private final int sweepBatchSize;
 
-    public ConfirmationTokenServiceImpl(ConfirmationTokenRepository confirmationTokenRepository, JavaMailSender javaMailSender) {
+    public ConfirmationTokenServiceImpl(ConfirmationTokenRepository confirmationTokenRepository, MailOutboxService mailOutboxService, ConfirmationTokenCache confirmationTokenCache,
+                                        @Value("${confirmation-token.sweeper.batch-size}") int sweepBatchSize) {
 
         this.confirmationTokenRepository = confirmationTokenRepository;
-        this.javaMailSender = javaMailSender;
+        this.mailOutboxService = mailOutboxService;
+        this.confirmationTokenCache = confirmationTokenCache;
+        this.sweepBatchSize = sweepBatchSize;
     }
 
     @Override
@@ -26,27 +44,80 @@ public class ConfirmationTokenServiceImpl implements ConfirmationTokenService {
     }
 
     @Override
-    @Async
-    public void sendEmail(SimpleMailMessage email) {
-        javaMailSender.send(email);
+    public List<ConfirmationToken> saveAll(List<ConfirmationToken> confirmationTokens) {
+        return confirmationTokenRepository.saveAll(confirmationTokens);
+    }
+
+    //tokens & emails are stored in the transaction of the caller - emails are sent later from the outbox
+    @Override
+    public void sendConfirmations(List<User> users) {
+        List<ConfirmationToken> confirmationTokens = users.stream()
+                .map(user -> {
+                    ConfirmationToken confirmationToken = new ConfirmationToken(user);
+                    confirmationToken.setIsDeleted(false);
+                    return confirmationToken;
+                })
+                .collect(Collectors.toList());
+
+        List<SimpleMailMessage> emails = saveAll(confirmationTokens).stream()
+                .map(confirmationToken -> createEmail(MailDTO
+                        .builder()
+                        .emailTo(confirmationToken.getUser().getUserName())
+                        .token(confirmationToken.getToken())
+                        .subject("Confirm Registration")
+                        .message("To confirm your account, please click here: ")
+                        .url(BASE_URL + "/confirmation?token=")
+                        .build()))
+                .collect(Collectors.toList());
+
+        mailOutboxService.enqueue(emails);
     }
 
     @Override
-    public ConfirmationToken readByToken(String token) throws TicketNGProjectException {
-        ConfirmationToken confirmationToken = confirmationTokenRepository.findByToken(token).orElse(null);
+    public ConfirmationTokenRefDTO readByToken(String token) throws TicketNGProjectException {
+        ConfirmationTokenRefDTO confirmationToken = confirmationTokenCache.get(token, key -> confirmationTokenRepository.findRefByToken(key).orElse(null));
 
         if(confirmationToken == null){
             throw new TicketNGProjectException("This token does not exist !!");
         }
-        if(!confirmationToken.isTokenValid(confirmationToken.getExpiryDate())){
+        if(!confirmationToken.isValid()){
             throw new TicketNGProjectException("This token has been expired !!");
         }
         return confirmationToken;
     }
 
     @Override
-    public void delete(ConfirmationToken confirmationToken) {
-        confirmationToken.setIsDeleted(true);
-        confirmationTokenRepository.save(confirmationToken);
+    public void delete(ConfirmationTokenRefDTO confirmationToken) {
+        confirmationTokenRepository.softDeleteById(confirmationToken.getId(), LocalDateTime.now(), BaseEntityListener.currentUserId());
+        confirmationTokenCache.evict(confirmationToken.getToken());
+    }
+
+    //expired, then used tokens are removed in batches - each batch is its own transaction
+    @Override
+    @Scheduled(fixedDelayString = "${confirmation-token.sweeper.interval}")
+    public int sweep() {
+        LocalDate today = LocalDate.now();
+        int deleted = 0;
+        int batch;
+        do {
+            batch = confirmationTokenRepository.deleteExpiredBefore(today, sweepBatchSize);
+            deleted += batch;
+        } while (batch == sweepBatchSize);
+        do {
+            batch = confirmationTokenRepository.deleteUsed(sweepBatchSize);
+            deleted += batch;
+        } while (batch == sweepBatchSize);
+        return deleted;
+    }
+
+    private SimpleMailMessage createEmail(MailDTO mailDTO){
+
+        SimpleMailMessage mailMessage = new SimpleMailMessage();
+
+        mailMessage.setTo(mailDTO.getEmailTo());
+        mailMessage.setSubject(mailDTO.getSubject());
+        mailMessage.setText(mailDTO.getMessage() + mailDTO.getUrl() + mailDTO.getToken());
+
+        return mailMessage;
     }
 }
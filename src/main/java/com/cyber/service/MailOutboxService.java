@@ -0,0 +1,12 @@
+package com.cyber.service;
+
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+
+public interface MailOutboxService {
+
+    void enqueue(List<SimpleMailMessage> messages);
+    void drain();
+    long pendingCount();
+}
@@ -0,0 +1,193 @@
+package com.cyber.service;
+
+import com.cyber.config.ExecutorConfig;
+import com.cyber.entity.MailOutbox;
+import com.cyber.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private MailOutboxRepository mailOutboxRepository;
+    private JavaMailSender javaMailSender;
+    private TransactionTemplate transactionTemplate;
+    private Executor mailExecutor;
+
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration retention;
+    private final Duration claimTimeout;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public MailOutboxServiceImpl(MailOutboxRepository mailOutboxRepository, JavaMailSender javaMailSender, PlatformTransactionManager transactionManager,
+                                 @Qualifier(ExecutorConfig.MAIL_EXECUTOR) Executor mailExecutor, MeterRegistry meterRegistry,
+                                 @Value("${mail.outbox.workers}") int workers,
+                                 @Value("${mail.outbox.batch-size}") int batchSize,
+                                 @Value("${mail.outbox.max-attempts}") int maxAttempts,
+                                 @Value("${mail.outbox.retry-delay}") Duration retryDelay,
+                                 @Value("${mail.outbox.retention}") Duration retention,
+                                 @Value("${mail.outbox.claim-timeout}") Duration claimTimeout) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailExecutor = mailExecutor;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.retention = retention;
+        this.claimTimeout = claimTimeout;
+
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).description("Emails waiting to be sent").register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("mail.outbox.sent");
+        this.failedCounter = meterRegistry.counter("mail.outbox.failed");
+    }
+
+    //joins the transaction of the caller - email is stored only if the data it is about is stored
+    @Override
+    public void enqueue(List<SimpleMailMessage> messages) {
+        List<MailOutbox> mails = messages.stream()
+                .filter(message -> message.getTo() != null)
+                .flatMap(message -> Arrays.stream(message.getTo())
+                        .map(emailTo -> new MailOutbox(emailTo, message.getSubject(), message.getText())))
+                .collect(Collectors.toList());
+        mailOutboxRepository.saveAll(mails);
+        pending.addAndGet(mails.size());
+    }
+
+    //every worker sends batches until nothing is due - each batch is one SMTP connection
+    //waits for the workers, scheduler has its own pool (spring.task.scheduling.pool.size) - other jobs are not delayed
+    @Override
+    @Scheduled(fixedDelayString = "${mail.outbox.drain-interval}")
+    public void drain() {
+        CompletableFuture<?>[] runs = IntStream.range(0, workers)
+                .mapToObj(worker -> CompletableFuture.runAsync(this::sendAllDue, mailExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(runs)
+                .exceptionally(e -> {
+                    log.error("Mail outbox could not be drained", e);
+                    return null;
+                })
+                .join();
+
+        mailOutboxRepository.deleteAllSentBefore(LocalDateTime.now().minus(retention));
+        pending.set(mailOutboxRepository.countBySentAtIsNullAndAttemptsLessThan(maxAttempts));
+    }
+
+    @Override
+    public long pendingCount() {
+        return pending.get();
+    }
+
+    private void sendAllDue() {
+        int sent;
+        do {
+            sent = sendBatch();
+        } while (sent == batchSize);
+    }
+
+    //sends one batch of due emails - failed ones are tried again later, every time waiting twice as long
+    //claim, send & record are separate steps - no transaction, lock or DB connection is kept during SMTP
+    int sendBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> batch = transactionTemplate.execute(status -> claim(now));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<SimpleMailMessage> messages = batch.stream().map(this::toMessage).collect(Collectors.toList());
+        Map<Object, Exception> failedMessages = Collections.emptyMap();
+        try {
+            javaMailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failedMessages = e.getFailedMessages();
+        } catch (MailException e) {
+            //nothing was sent - e.g. authentication failed
+            failedMessages = messages.stream().collect(Collectors.toMap(message -> message, message -> e, (first, second) -> first));
+        }
+
+        Map<Object, Exception> failures = failedMessages;
+        LocalDateTime sentAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> record(batch, messages, failures, sentAt));
+        return batch.size();
+    }
+
+    //claimed rows are not due until the claim times out - if this instance dies while sending, they are sent again later
+    private List<MailOutbox> claim(LocalDateTime now) {
+        List<MailOutbox> batch = mailOutboxRepository.findAllDue(maxAttempts, now, PageRequest.of(0, batchSize));
+        batch.forEach(mail -> mail.setNextAttemptAt(now.plus(claimTimeout)));
+        return batch;
+    }
+
+    private void record(List<MailOutbox> batch, List<SimpleMailMessage> messages, Map<Object, Exception> failedMessages, LocalDateTime now) {
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutbox mail = batch.get(i);
+            Exception failure = failedMessages.get(messages.get(i));
+            if (failure == null) {
+                sentIds.add(mail.getId());
+                sentCounter.increment();
+            } else {
+                int attempts = mail.getAttempts() + 1;
+                mailOutboxRepository.markFailed(mail.getId(), attempts, now.plus(retryDelayAfter(attempts)), abbreviate(failure.getMessage()));
+                failedCounter.increment();
+                log.warn("Email to {} could not be sent, attempt {}: {}", mail.getEmailTo(), attempts, failure.getMessage());
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            mailOutboxRepository.markSent(sentIds, now);
+        }
+    }
+
+    private Duration retryDelayAfter(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private SimpleMailMessage toMessage(MailOutbox mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(mail.getEmailTo());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getText());
+        return message;
+    }
+
+    private String abbreviate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -1,16 +1,19 @@
 package com.cyber.service;
 
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.ProjectDTO;
 import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
 public interface ProjectService {
 
     ProjectDTO getByProjectCode(String code);
-    List<ProjectDTO> listAllProjects();
+    CursorPageDTO<ProjectDTO> listAllProjects(Long after, int limit);
     ProjectDTO save(ProjectDTO dto) throws TicketNGProjectException;
     ProjectDTO update(ProjectDTO dto) throws TicketNGProjectException;
     void delete(String code) throws TicketNGProjectException;
@@ -18,4 +21,5 @@ public interface ProjectService {
     List<ProjectDTO> listAllProjectDetails() throws AccessDeniedException, TicketNGProjectException;
     List<ProjectDTO> readAllByAssignedManager(User user);
     List<ProjectDTO> listAllNonCompletedProjects();
+    void exportAllProjects(OutputStream outputStream) throws IOException;
 }
@@ -1,22 +1,28 @@
 package com.cyber.service;
 
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.ProjectDTO;
+import com.cyber.dto.ProjectTaskCountDTO;
 import com.cyber.entity.Project;
 import com.cyber.entity.User;
 import com.cyber.enums.Status;
 import com.cyber.exception.TicketNGProjectException;
+import com.cyber.util.CurrentUser;
 import com.cyber.util.MapperUtil;
+import com.cyber.util.NdjsonExporter;
 import com.cyber.repository.ProjectRepository;
-import com.cyber.repository.UserRepository;
 import com.cyber.service.ProjectService;
 import com.cyber.service.TaskService;
 import com.cyber.service.UserService;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,14 +32,19 @@ public class ProjectServiceImpl implements ProjectService {
     private UserService userService;
     private TaskService taskService;
     private MapperUtil mapperUtil;
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
+    private NdjsonExporter ndjsonExporter;
+    private ProjectTaskStatsService projectTaskStatsService;
 
-    public ProjectServiceImpl(@Lazy ProjectRepository projectRepository, UserService userService, TaskService taskService, MapperUtil mapperUtil, UserRepository userRepository) {
+    public ProjectServiceImpl(@Lazy ProjectRepository projectRepository, UserService userService, TaskService taskService, MapperUtil mapperUtil, CurrentUser currentUser, NdjsonExporter ndjsonExporter,
+                              ProjectTaskStatsService projectTaskStatsService) {
         this.projectRepository = projectRepository;
         this.userService = userService;
         this.taskService = taskService;
         this.mapperUtil = mapperUtil;
-        this.userRepository = userRepository;
+        this.currentUser = currentUser;
+        this.ndjsonExporter = ndjsonExporter;
+        this.projectTaskStatsService = projectTaskStatsService;
     }
 
     @Override
@@ -43,26 +54,31 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public List<ProjectDTO> listAllProjects() {
-        List<Project> projects = projectRepository.findAll();
-        return projects.stream().map(obj -> {return mapperUtil.convert(obj,new ProjectDTO());}).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProjectDTO> listAllProjects(Long after, int limit) {
+        List<Project> projects = projectRepository.findAllByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, CursorPageDTO.pageable(limit));
+        return CursorPageDTO.of(projects, limit, Project::getId, obj -> mapperUtil.convert(obj,new ProjectDTO()));
     }
 
+    //counter row of the project is created with it - task changes only update it
+    //existence is checked with the code -> id projection - project & manager are not loaded
     @Override
+    @Transactional
     public ProjectDTO save(ProjectDTO dto) throws TicketNGProjectException {
-        Project foundProject = projectRepository.findByProjectCode(dto.getProjectCode());
-        if(foundProject != null){
+        if(projectRepository.findRefByProjectCode(dto.getProjectCode()) != null){
             throw new TicketNGProjectException("This project already exists !!!");
         }
         Project project = mapperUtil.convert(dto,new Project());
         Project createdProject = projectRepository.save(project);
+        projectTaskStatsService.create(createdProject.getId());
         return mapperUtil.convert(createdProject,new ProjectDTO());
     }
 
+    //merged project refers to a manager proxy - it is mapped before the transaction ends
     @Override
+    @Transactional
     public ProjectDTO update(ProjectDTO dto) throws TicketNGProjectException {
-        Project project = projectRepository.findByProjectCode(dto.getProjectCode());
-        if(project == null){
+        if(projectRepository.findRefByProjectCode(dto.getProjectCode()) == null){
             throw new TicketNGProjectException("This project does not exist !!!");
         }
         Project convertedProject = mapperUtil.convert(dto,new Project());
@@ -70,7 +86,9 @@ public class ProjectServiceImpl implements ProjectService {
         return mapperUtil.convert(updatedProject,new ProjectDTO());
     }
 
+    //project & its tasks are deleted together or not at all
     @Override
+    @Transactional
     public void delete(String code) throws TicketNGProjectException {
         Project project = projectRepository.findByProjectCode(code);
         if(project == null){
@@ -88,6 +106,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public ProjectDTO complete(String code) throws TicketNGProjectException {
         Project project = projectRepository.findByProjectCode(code);
         if(project == null){
@@ -99,19 +118,24 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> listAllProjectDetails() throws AccessDeniedException, TicketNGProjectException {
 
-        String id = SecurityContextHolder.getContext().getAuthentication().getName(); //check WebSecurityConfig class !!
-        Long currentId = Long.parseLong(id);
-        User user = userRepository.findById(currentId).orElseThrow(() -> new TicketNGProjectException("This manager does not exist !!!"));
-        List<Project> projectList = projectRepository.findAllByAssignedManager(user);
+        //manager [id] comes from the token - user is not loaded to find the projects
+        Long managerId = currentUser.findId().orElseThrow(() -> new TicketNGProjectException("This manager does not exist !!!"));
+        List<Project> projectList = projectRepository.findAllByAssignedManagerId(managerId);
         if(projectList.size() == 0){
             throw new TicketNGProjectException("This manager does not have any project assigned !!!");
         }
+        //counts of all projects come from counters kept with the tasks - no tasks are counted
+        Map<Long, ProjectTaskCountDTO> taskCounts = projectTaskStatsService.findAllByProjectIds(projectList.stream().map(Project::getId).collect(Collectors.toList()));
         return projectList.stream().map(project -> {
                         ProjectDTO obj = mapperUtil.convert(project,new ProjectDTO());
-                        obj.setIncompleteTaskCount(taskService.totalUncompletedTasks(obj.getProjectCode()));
-                        obj.setCompleteTaskCount(taskService.totalCompletedTasks(obj.getProjectCode()));
+                        ProjectTaskCountDTO count = taskCounts.get(project.getId());
+                        if (count != null) {
+                            obj.setIncompleteTaskCount(count.getIncompleteTaskCount().intValue());
+                            obj.setCompleteTaskCount(count.getCompleteTaskCount().intValue());
+                        }
                         return obj;
                     }).collect(Collectors.toList());
     }
@@ -123,6 +147,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> listAllNonCompletedProjects() {
 
         return projectRepository
@@ -132,5 +157,12 @@ public class ProjectServiceImpl implements ProjectService {
                 .collect(Collectors.toList());
     }
 
+    //stream needs an open transaction until the last row is written
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllProjects(OutputStream outputStream) throws IOException {
+        ndjsonExporter.export(projectRepository.streamAll(), obj -> mapperUtil.convert(obj,new ProjectDTO()), outputStream);
+    }
+
 
 }
@@ -0,0 +1,17 @@
+package com.cyber.service;
+
+import com.cyber.dto.ProjectTaskCountDTO;
+import com.cyber.enums.Status;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProjectTaskStatsService {
+
+    void create(Long projectId);
+    void remove(Long projectId);
+    void add(Long projectId, Status taskStatus, long count);
+    ProjectTaskCountDTO findByProjectId(Long projectId);
+    Map<Long, ProjectTaskCountDTO> findAllByProjectIds(Collection<Long> projectIds);
+    int reconcile();
+}
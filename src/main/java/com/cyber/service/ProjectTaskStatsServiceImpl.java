@@ -0,0 +1,81 @@
+package com.cyber.service;
+
+import com.cyber.dto.ProjectTaskCountDTO;
+import com.cyber.entity.ProjectTaskStats;
+import com.cyber.enums.Status;
+import com.cyber.repository.ProjectTaskStatsRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//counters are changed in the transaction of the task change - reconcile() repairs drift (e.g. changes made directly in DB)
+@Service
+public class ProjectTaskStatsServiceImpl implements ProjectTaskStatsService {
+
+    private ProjectTaskStatsRepository projectTaskStatsRepository;
+
+    public ProjectTaskStatsServiceImpl(ProjectTaskStatsRepository projectTaskStatsRepository) {
+        this.projectTaskStatsRepository = projectTaskStatsRepository;
+    }
+
+    @Override
+    @Transactional
+    public void create(Long projectId) {
+        projectTaskStatsRepository.save(new ProjectTaskStats(projectId));
+    }
+
+    @Override
+    @Transactional
+    public void remove(Long projectId) {
+        projectTaskStatsRepository.findById(projectId).ifPresent(projectTaskStatsRepository::delete);
+    }
+
+    //count is negative when tasks leave the project or the status - tasks without status are not counted (as in SQL)
+    @Override
+    @Transactional
+    public void add(Long projectId, Status taskStatus, long count) {
+        if (projectId == null || taskStatus == null || count == 0) {
+            return;
+        }
+        long completeDelta = taskStatus == Status.COMPLETE ? count : 0;
+        long incompleteDelta = taskStatus == Status.COMPLETE ? 0 : count;
+        if (projectTaskStatsRepository.increment(projectId, completeDelta, incompleteDelta) > 0) {
+            return;
+        }
+        //no row yet (project created before counters existed) - tasks it had before are counted by the next reconciliation
+        if (projectTaskStatsRepository.insertIfAbsent(projectId, completeDelta, incompleteDelta) == 0) {
+            projectTaskStatsRepository.increment(projectId, completeDelta, incompleteDelta);
+        }
+    }
+
+    //project without a counter row yet (created before counters existed) is 0/0 until its first task change or the next reconciliation
+    @Override
+    public ProjectTaskCountDTO findByProjectId(Long projectId) {
+        return findAllByProjectIds(List.of(projectId)).getOrDefault(projectId, new ProjectTaskCountDTO(projectId, 0L, 0L));
+    }
+
+    @Override
+    public Map<Long, ProjectTaskCountDTO> findAllByProjectIds(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+        return projectTaskStatsRepository.findAllByProjectIdIn(projectIds).stream()
+                .collect(Collectors.toMap(ProjectTaskCountDTO::getProjectId, Function.identity()));
+    }
+
+    //all counters are rebuilt in one transaction - readers see either the old or the new counters, rows are never missing
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${project.task-stats.reconcile-initial-delay}", fixedDelayString = "${project.task-stats.reconcile-interval}")
+    public int reconcile() {
+        projectTaskStatsRepository.deleteStatsOfDeletedProjects();
+        projectTaskStatsRepository.insertMissingStats();
+        return projectTaskStatsRepository.updateAllStatsFromTasks();
+    }
+}
@@ -1,37 +1,29 @@
 package com.cyber.service;
 
+import com.cyber.cache.RoleCatalog;
 import com.cyber.dto.RoleDTO;
-import com.cyber.entity.Role;
 import com.cyber.exception.TicketNGProjectException;
-import com.cyber.util.MapperUtil;
-import com.cyber.repository.RoleRepository;
 import com.cyber.service.RoleService;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class RoleServiceImpl implements RoleService {
 
-    private RoleRepository roleRepository;
-    private MapperUtil mapperUtil;
+    private RoleCatalog roleCatalog;
 
-    public RoleServiceImpl(@Lazy RoleRepository roleRepository, MapperUtil mapperUtil) {
-        this.roleRepository = roleRepository;
-        this.mapperUtil = mapperUtil;
+    public RoleServiceImpl(RoleCatalog roleCatalog) {
+        this.roleCatalog = roleCatalog;
     }
 
     @Override
     public List<RoleDTO> listAllRoles() {
-        List<Role> list = roleRepository.findAll();
-        return list.stream().map(obj -> mapperUtil.convert(obj,new RoleDTO())).collect(Collectors.toList());
+        return roleCatalog.findAll();
     }
 
     @Override
     public RoleDTO findById(Long id) throws TicketNGProjectException {
-        Role role = roleRepository.findById(id).orElseThrow(() -> new TicketNGProjectException("Role does not exist !!!"));
-        return mapperUtil.convert(role,new RoleDTO());
+        return roleCatalog.findById(id).orElseThrow(() -> new TicketNGProjectException("Role does not exist !!!"));
     }
 }
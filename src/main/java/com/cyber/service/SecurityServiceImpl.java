@@ -1,14 +1,21 @@
 package com.cyber.service;
 
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.AuthenticatedUser;
+import com.cyber.dto.RoleDTO;
 import com.cyber.dto.UserDTO;
 import com.cyber.entity.User;
-import com.cyber.util.MapperUtil;
+import com.cyber.exception.TicketNGProjectException;
+import com.cyber.repository.UserRepository;
 import com.cyber.service.SecurityService;
 import com.cyber.service.UserService;
+import com.cyber.util.JWTUtil;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.nio.file.AccessDeniedException;
@@ -20,11 +27,21 @@ import java.util.List;
 public class SecurityServiceImpl implements SecurityService {
 
     private UserService userService;
-    private MapperUtil mapperUtil;
+    private UserRepository userRepository;
+    private RoleCatalog roleCatalog;
+    private PasswordEncoder passwordEncoder;
+    private JWTUtil jwtUtil;
 
-    public SecurityServiceImpl(UserService userService, MapperUtil mapperUtil) {
+    //checked when the username does not exist - unknown & known users take the same BCrypt time
+    private final String unknownUserHash;
+
+    public SecurityServiceImpl(UserService userService, UserRepository userRepository, RoleCatalog roleCatalog, PasswordEncoder passwordEncoder, JWTUtil jwtUtil) {
         this.userService = userService;
-        this.mapperUtil = mapperUtil;
+        this.userRepository = userRepository;
+        this.roleCatalog = roleCatalog;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.unknownUserHash = passwordEncoder.encode("unknown-user");
     }
 
     @Override
@@ -46,10 +63,35 @@ public class SecurityServiceImpl implements SecurityService {
                 userDTO.getPassWord(), listAuthorities(userDTO));
     }
 
+    //one query, no dto conversion - result is cached by the security filter
     @Override
-    public User loadUser(String param) throws AccessDeniedException {
-        UserDTO user = userService.findByUserName(param);
-        return mapperUtil.convert(user,new User());
+    public AuthenticatedUser loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        User user = userRepository.findByUserName(username);
+        if(user == null) {
+            throw new UsernameNotFoundException("This username does not exist !!");
+        }
+        String role = roleCatalog.findById(user.getRole().getId()).map(RoleDTO::getDescription)
+                .orElseThrow(() -> new UsernameNotFoundException("Role of this user does not exist !!"));
+        return new AuthenticatedUser(user.getId(), user.getUserName(), Boolean.TRUE.equals(user.getEnabled()), role);
+    }
+
+    //login with one user query - no authentication manager, no dto round trip, token is made from the loaded user
+    @Override
+    public String login(String username, String password) throws TicketNGProjectException {
+        User user = userRepository.findByUserName(username);
+        if (user == null) {
+            passwordEncoder.matches(password, unknownUserHash);
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(password, user.getPassWord())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!Boolean.TRUE.equals(user.getEnabled())) {
+            throw new TicketNGProjectException("Please verify your user !!");
+        }
+        String role = roleCatalog.findById(user.getRole().getId()).map(RoleDTO::getDescription)
+                .orElseThrow(() -> new BadCredentialsException("Role of this user does not exist"));
+        return jwtUtil.generateToken(user, role);
     }
 
     private Collection<? extends GrantedAuthority> listAuthorities(UserDTO userDTO){
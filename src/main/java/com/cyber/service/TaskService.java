@@ -1,5 +1,6 @@
 package com.cyber.service;
 
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.ProjectDTO;
 import com.cyber.dto.TaskDTO;
 import com.cyber.entity.Task;
@@ -7,24 +8,26 @@ import com.cyber.entity.User;
 import com.cyber.enums.Status;
 import com.cyber.exception.TicketNGProjectException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TaskService {
 
-    List<TaskDTO> listAllTasks();
+    CursorPageDTO<TaskDTO> listAllTasks(Long after, int limit);
     List<TaskDTO> listAllTasksByProjectManager() throws TicketNGProjectException;
     TaskDTO findById(Long id) throws TicketNGProjectException;
     TaskDTO save(TaskDTO dto);
+    List<TaskDTO> saveAll(List<TaskDTO> dtos) throws TicketNGProjectException;
     void delete(Long id) throws TicketNGProjectException;
     TaskDTO update(TaskDTO dto) throws TicketNGProjectException;
     List<TaskDTO> listAllTasksByStatusIsNot(Status status) throws TicketNGProjectException;
     TaskDTO updateStatus(TaskDTO dto) throws TicketNGProjectException;
 
-    int totalUncompletedTasks(String projectCode);
-    int totalCompletedTasks(String projectCode);
     void deleteByProject(ProjectDTO project);
     List<TaskDTO> listAllByProject(ProjectDTO project);
     List<TaskDTO> readAllByEmployee(User employee);
+    void exportAllTasks(OutputStream outputStream) throws IOException;
 
 
 }
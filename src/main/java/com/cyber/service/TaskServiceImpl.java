@@ -1,51 +1,66 @@
 package com.cyber.service;
 
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.ProjectDTO;
 import com.cyber.dto.TaskDTO;
 import com.cyber.entity.Project;
+import com.cyber.entity.BaseEntityListener;
 import com.cyber.entity.Task;
 import com.cyber.entity.User;
 import com.cyber.enums.Status;
 import com.cyber.exception.TicketNGProjectException;
+import com.cyber.util.CurrentUser;
 import com.cyber.util.MapperUtil;
+import com.cyber.util.NdjsonExporter;
 import com.cyber.repository.TaskRepository;
-import com.cyber.repository.UserRepository;
 import com.cyber.service.TaskService;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    //tasks of one batch request - larger lists are rejected, not cut
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private TaskRepository taskRepository;
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
     private MapperUtil mapperUtil;
+    private NdjsonExporter ndjsonExporter;
+    private ProjectTaskStatsService projectTaskStatsService;
 
-    public TaskServiceImpl(@Lazy TaskRepository taskRepository, @Lazy UserRepository userRepository, MapperUtil mapperUtil) {
+    public TaskServiceImpl(@Lazy TaskRepository taskRepository, CurrentUser currentUser, MapperUtil mapperUtil, NdjsonExporter ndjsonExporter,
+                           ProjectTaskStatsService projectTaskStatsService) {
         this.taskRepository = taskRepository;
-        this.userRepository = userRepository;
+        this.currentUser = currentUser;
         this.mapperUtil = mapperUtil;
+        this.ndjsonExporter = ndjsonExporter;
+        this.projectTaskStatsService = projectTaskStatsService;
     }
 
+    //read only - served by the replica when one is configured (DataSourceConfig)
     @Override
-    public List<TaskDTO> listAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
-        return tasks.stream().map(obj -> mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> listAllTasks(Long after, int limit) {
+        List<Task> tasks = taskRepository.findAllByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, CursorPageDTO.pageable(limit));
+        return CursorPageDTO.of(tasks, limit, Task::getId, obj -> mapperUtil.convert(obj,new TaskDTO()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> listAllTasksByProjectManager() throws TicketNGProjectException {
-        String id = SecurityContextHolder.getContext().getAuthentication().getName(); //WebSecurityConfig - security holds the user [id] to authenticate !!
-        Long currentId = Long.parseLong(id);
-        //get user based on user [id]
-        User user = userRepository.findById(currentId).orElseThrow(() -> new TicketNGProjectException("This manager does not exist !!!"));
-        //get tasks based on the user
-        List<Task> tasks = taskRepository.findAllByProjectAssignedManager(user);
+        //manager [id] comes from the token - user is not loaded to find the tasks
+        Long managerId = currentUser.findId().orElseThrow(() -> new TicketNGProjectException("This manager does not exist !!!"));
+        List<Task> tasks = taskRepository.findAllByProjectAssignedManagerId(managerId);
         return tasks.stream().map(obj -> mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
     }
 
@@ -55,69 +70,86 @@ public class TaskServiceImpl implements TaskService {
         return mapperUtil.convert(task, new TaskDTO());
     }
 
+    //task & counters of its project are changed together
     @Override
+    @Transactional
     public TaskDTO save(TaskDTO taskDTO) {
         taskDTO.setTaskStatus(Status.OPEN);
         taskDTO.setAssignedDate(LocalDate.now());
         Task task = mapperUtil.convert(taskDTO,new Task());
         taskRepository.save(task);
+        projectTaskStatsService.add(projectIdOf(task), task.getTaskStatus(), 1);
         return mapperUtil.convert(task,new TaskDTO());
     }
 
+    //all tasks are created or none - inserts are sent to DB in JDBC batches (hibernate.jdbc.batch_size)
+    @Override
+    @Transactional
+    public List<TaskDTO> saveAll(List<TaskDTO> taskDTOs) throws TicketNGProjectException {
+        if(taskDTOs.size() > MAX_BATCH_SIZE){
+            throw new TicketNGProjectException("At most " + MAX_BATCH_SIZE + " tasks can be created at once !!!");
+        }
+        List<Task> tasks = taskDTOs.stream().map(taskDTO -> {
+            taskDTO.setTaskStatus(Status.OPEN);
+            taskDTO.setAssignedDate(LocalDate.now());
+            return mapperUtil.convert(taskDTO,new Task());
+        }).collect(Collectors.toList());
+        taskRepository.saveAll(tasks);
+        //one counter update per project, not per task
+        tasks.stream().filter(task -> projectIdOf(task) != null)
+                .collect(Collectors.groupingBy(this::projectIdOf, Collectors.counting()))
+                .forEach((projectId, count) -> projectTaskStatsService.add(projectId, Status.OPEN, count));
+        return tasks.stream().map(obj -> mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
+    }
+
     @Override
+    @Transactional
     public void delete(Long id) throws TicketNGProjectException {
         Task foundTask = taskRepository.findById(id).orElseThrow(() -> new TicketNGProjectException("Task does not exist !!!"));
         foundTask.setIsDeleted(true);
         taskRepository.save(foundTask);
+        projectTaskStatsService.add(projectIdOf(foundTask), foundTask.getTaskStatus(), -1);
     }
 
+    //merged task refers to project & employee proxies - they are mapped before the transaction ends
     @Override
+    @Transactional
     public TaskDTO update(TaskDTO dto) throws TicketNGProjectException {
-        taskRepository.findById(dto.getId()).orElseThrow(() -> new TicketNGProjectException("Task does not exist !!!"));
+        Task foundTask = taskRepository.findById(dto.getId()).orElseThrow(() -> new TicketNGProjectException("Task does not exist !!!"));
+        //found task is managed - merge overwrites it, so its project & status are taken before
+        Long oldProjectId = projectIdOf(foundTask);
+        Status oldStatus = foundTask.getTaskStatus();
         Task convertedTask = mapperUtil.convert(dto,new Task());
         Task save = taskRepository.save(convertedTask);
+        moveInStats(oldProjectId, oldStatus, projectIdOf(save), save.getTaskStatus());
         return mapperUtil.convert(save,new TaskDTO());
     }
 
     @Override
     public List<TaskDTO> listAllTasksByStatusIsNot(Status status) throws TicketNGProjectException {
-        String id = SecurityContextHolder.getContext().getAuthentication().getName();
-        Long currentId = Long.parseLong(id);
-        User user = userRepository.findById(currentId).orElseThrow(() -> new TicketNGProjectException("This manager does not exist !!!"));
-        List<Task> list = taskRepository.findAllByTaskStatusIsNotAndAssignedEmployee(status, user);
+        Long employeeId = currentUser.findId().orElseThrow(() -> new TicketNGProjectException("This manager does not exist !!!"));
+        List<Task> list = taskRepository.findAllByTaskStatusIsNotAndAssignedEmployeeId(status, employeeId);
         return list.stream().map(obj -> mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public TaskDTO updateStatus(TaskDTO taskDTO) throws TicketNGProjectException {
         Task task = taskRepository.findById(taskDTO.getId()).orElseThrow(() -> new TicketNGProjectException("Task does not exist !!!"));
+        Status oldStatus = task.getTaskStatus();
         task.setTaskStatus(taskDTO.getTaskStatus());
         Task save = taskRepository.save(task);
+        moveInStats(projectIdOf(save), oldStatus, projectIdOf(save), save.getTaskStatus());
         return mapperUtil.convert(save,new TaskDTO());
     }
 
     // -----------
 
     @Override
-    public int totalUncompletedTasks(String projectCode) {
-        return taskRepository.totalNonCompletedTasks(projectCode);
-    }
-
-    @Override
-    public int totalCompletedTasks(String projectCode) {
-        return taskRepository.totalCompletedTasks(projectCode);
-    }
-
-    @Override
+    @Transactional
     public void deleteByProject(ProjectDTO project) {
-        List<TaskDTO> taskList = listAllByProject(project);
-        taskList.forEach(taskDTO -> {
-            try {
-                delete(taskDTO.getId());
-            } catch (TicketNGProjectException e) {
-                e.printStackTrace();
-            }
-        });
+        taskRepository.softDeleteAllByProjectId(project.getId(), LocalDateTime.now(), BaseEntityListener.currentUserId());
+        projectTaskStatsService.remove(project.getId());
     }
 
     @Override
@@ -132,4 +164,23 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.findAllByAssignedEmployee(employee);
         return tasks.stream().map(obj -> mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
     }
+
+    private Long projectIdOf(Task task) {
+        return task.getProject() == null ? null : task.getProject().getId();
+    }
+
+    private void moveInStats(Long oldProjectId, Status oldStatus, Long newProjectId, Status newStatus) {
+        if (Objects.equals(oldProjectId, newProjectId) && oldStatus == newStatus) {
+            return;
+        }
+        projectTaskStatsService.add(oldProjectId, oldStatus, -1);
+        projectTaskStatsService.add(newProjectId, newStatus, 1);
+    }
+
+    //stream needs an open transaction until the last row is written
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllTasks(OutputStream outputStream) throws IOException {
+        ndjsonExporter.export(taskRepository.streamAll(), obj -> mapperUtil.convert(obj,new TaskDTO()), outputStream);
+    }
 }
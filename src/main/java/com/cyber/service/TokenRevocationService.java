@@ -0,0 +1,10 @@
+package com.cyber.service;
+
+import com.cyber.dto.TokenClaims;
+
+public interface TokenRevocationService {
+
+    void revoke(Long userId);
+    boolean isRevoked(TokenClaims claims);
+    void refresh();
+}
@@ -0,0 +1,59 @@
+package com.cyber.service;
+
+import com.cyber.dto.TokenClaims;
+import com.cyber.entity.TokenRevocation;
+import com.cyber.repository.TokenRevocationRepository;
+import com.cyber.util.JWTUtil;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    //user id -> revoke time [epoch seconds] - small, because entries are dropped once all their tokens are expired
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    public TokenRevocationServiceImpl(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    //persisted, so that other API nodes pick it up with their next refresh
+    @Override
+    public void revoke(Long userId) {
+        //seconds, like [iat] - every node compares against the same value
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        tokenRevocationRepository.save(new TokenRevocation(userId, now));
+        revokedUsers.merge(userId, toSeconds(now), Math::max);
+    }
+
+    //token is revoked if it is issued in a second before its user is revoked - [iat] has seconds precision,
+    //so a token minted right after the revocation (e.g. the new login) in the same second stays valid
+    @Override
+    public boolean isRevoked(TokenClaims claims) {
+        Long revokedSecond = revokedUsers.get(claims.getId());
+        return revokedSecond != null && (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() / 1000 < revokedSecond);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval}")
+    public void refresh() {
+        LocalDateTime oldestValidToken = LocalDateTime.now().minus(JWTUtil.TOKEN_VALIDITY);
+        tokenRevocationRepository.deleteAllRevokedBefore(oldestValidToken);
+        tokenRevocationRepository.findAllByRevokedAtAfter(oldestValidToken)
+                .forEach(revocation -> revokedUsers.merge(revocation.getUserId(), toSeconds(revocation.getRevokedAt()), Math::max));
+        long oldest = toSeconds(oldestValidToken);
+        revokedUsers.values().removeIf(revokedAt -> revokedAt < oldest);
+    }
+
+    private long toSeconds(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -1,5 +1,6 @@
 package com.cyber.service;
 
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.UserDTO;
 import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
@@ -9,13 +10,16 @@ import java.util.List;
 
 public interface UserService {
 
-    List<UserDTO> listAllUsers();
+    CursorPageDTO<UserDTO> listAllUsers(Long after, int limit);
     UserDTO findByUserName(String username) throws AccessDeniedException;
     UserDTO save(UserDTO dto) throws TicketNGProjectException;
+    List<UserDTO> saveAll(List<UserDTO> dtos) throws TicketNGProjectException;
+    UserDTO register(UserDTO dto) throws TicketNGProjectException;
+    List<UserDTO> registerAll(List<UserDTO> dtos) throws TicketNGProjectException;
     UserDTO update(UserDTO dto) throws TicketNGProjectException, AccessDeniedException;
     void delete(String username) throws TicketNGProjectException;
     void deleteByUserName(String username);
-    List<UserDTO> listAllByRole(String role);
+    CursorPageDTO<UserDTO> listAllByRole(String role, Long after, int limit);
     Boolean checkIfUserCanBeDeleted(User user);
-    UserDTO confirm(User user);
+    UserDTO confirm(Long userId) throws TicketNGProjectException;
 }
@@ -1,46 +1,83 @@
 package com.cyber.service;
 
+import com.cyber.cache.PrincipalCache;
+import com.cyber.cache.RoleCatalog;
+import com.cyber.cache.VerifiedTokenCache;
+import com.cyber.config.ExecutorConfig;
+import com.cyber.dto.CursorPageDTO;
 import com.cyber.dto.ProjectDTO;
+import com.cyber.dto.RoleDTO;
 import com.cyber.dto.TaskDTO;
 import com.cyber.dto.UserDTO;
 import com.cyber.entity.User;
 import com.cyber.exception.TicketNGProjectException;
 import com.cyber.util.MapperUtil;
 import com.cyber.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.file.AccessDeniedException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    //users of one import request - larger lists are rejected, not cut
+    public static final int MAX_IMPORT_SIZE = 1000;
+
     UserRepository userRepository;
     private ProjectService projectService;
     private TaskService taskService;
     private MapperUtil mapperUtil;
     private PasswordEncoder passwordEncoder;
+    private VerifiedTokenCache verifiedTokenCache;
+    private PrincipalCache principalCache;
+    private TokenRevocationService tokenRevocationService;
+    private Executor passwordEncoderExecutor;
+    private ConfirmationTokenService confirmationTokenService;
+    private RoleCatalog roleCatalog;
+    private TransactionTemplate transactionTemplate;
 
-    public UserServiceImpl(@Lazy UserRepository userRepository, @Lazy ProjectService projectService, TaskService taskService, MapperUtil mapperUtil, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(@Lazy UserRepository userRepository, @Lazy ProjectService projectService, TaskService taskService, MapperUtil mapperUtil, PasswordEncoder passwordEncoder, VerifiedTokenCache verifiedTokenCache, PrincipalCache principalCache, TokenRevocationService tokenRevocationService,
+                           @Qualifier(ExecutorConfig.PASSWORD_ENCODER_EXECUTOR) Executor passwordEncoderExecutor, ConfirmationTokenService confirmationTokenService, RoleCatalog roleCatalog,
+                           PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.projectService = projectService;
         this.taskService = taskService;
         this.mapperUtil = mapperUtil;
         this.passwordEncoder = passwordEncoder;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordEncoderExecutor = passwordEncoderExecutor;
+        this.confirmationTokenService = confirmationTokenService;
+        this.roleCatalog = roleCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    public List<UserDTO> listAllUsers() {
-        List<User> list = userRepository.findAll(Sort.by("firstName"));
-        return list.stream().map(obj -> {return mapperUtil.convert(obj,new UserDTO());}).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserDTO> listAllUsers(Long after, int limit) {
+        //users are sorted by first name - cursor is still the id of the last user of previous page
+        List<User> list = after == null
+                ? userRepository.findAllByOrderByFirstNameAscIdAsc(CursorPageDTO.pageable(limit))
+                : userRepository.findAllAfter(after, CursorPageDTO.pageable(limit));
+        return CursorPageDTO.of(list, limit, User::getId, obj -> mapperUtil.convert(obj,new UserDTO()));
     }
 
     //check for authorities !!
@@ -57,12 +94,81 @@ public class UserServiceImpl implements UserService {
         if(foundUser != null){
             throw new TicketNGProjectException("User already exist !!!");
         }
+        checkRole(dto);
         User user = mapperUtil.convert(dto,new User());
         user.setPassWord(passwordEncoder.encode(user.getPassWord())); //encode password, before saving in DB
         User save = userRepository.save(user);
         return mapperUtil.convert(save,new UserDTO());
     }
 
+    //bulk import - one query to check usernames, passwords are hashed in parallel, users are inserted in JDBC batches
+    @Override
+    public List<UserDTO> saveAll(List<UserDTO> dtos) throws TicketNGProjectException {
+        List<User> users = insertAll(encodeAll(dtos), createdUsers -> { });
+        return users.stream().map(obj -> mapperUtil.convert(obj,new UserDTO())).collect(Collectors.toList());
+    }
+
+    //user, confirmation token and email are stored together - email is sent later from the outbox
+    @Override
+    @Transactional
+    public UserDTO register(UserDTO dto) throws TicketNGProjectException {
+        UserDTO createdUser = save(dto);
+        confirmationTokenService.sendConfirmations(List.of(mapperUtil.convert(createdUser,new User())));
+        return createdUser;
+    }
+
+    //users & their confirmations are stored in one transaction - passwords are hashed before it starts
+    @Override
+    public List<UserDTO> registerAll(List<UserDTO> dtos) throws TicketNGProjectException {
+        List<User> users = insertAll(encodeAll(dtos), confirmationTokenService::sendConfirmations);
+        return users.stream().map(obj -> mapperUtil.convert(obj,new UserDTO())).collect(Collectors.toList());
+    }
+
+    //no transaction & no connection while hashing - BCrypt of a large import takes seconds
+    private List<User> encodeAll(List<UserDTO> dtos) throws TicketNGProjectException {
+        if(dtos.size() > MAX_IMPORT_SIZE){
+            throw new TicketNGProjectException("At most " + MAX_IMPORT_SIZE + " users can be imported at once !!!");
+        }
+        Set<String> usernames = dtos.stream().map(UserDTO::getUserName).collect(Collectors.toSet());
+        if(usernames.size() != dtos.size()){
+            throw new TicketNGProjectException("Same username is used more than once !!!");
+        }
+        for (UserDTO dto : dtos) {
+            checkRole(dto);
+        }
+        //checked before hashing as well - nothing is hashed for an import which would be rejected anyway
+        checkNoneExists(userRepository.findAllByUserNameIn(usernames));
+        List<CompletableFuture<User>> encodedUsers = dtos.stream()
+                .map(dto -> mapperUtil.convert(dto,new User()))
+                .map(user -> CompletableFuture.supplyAsync(() -> {
+                    user.setPassWord(passwordEncoder.encode(user.getPassWord())); //encode password, before saving in DB
+                    return user;
+                }, passwordEncoderExecutor))
+                .collect(Collectors.toList());
+        return encodedUsers.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    //usernames are checked again in the insert transaction - another import may have taken them while hashing
+    private List<User> insertAll(List<User> users, Consumer<List<User>> inSameTransaction) throws TicketNGProjectException {
+        Set<String> usernames = users.stream().map(User::getUserName).collect(Collectors.toSet());
+        List<User> foundUsers = transactionTemplate.execute(status -> {
+            List<User> found = userRepository.findAllByUserNameIn(usernames);
+            if (found.isEmpty()) {
+                userRepository.saveAll(users);
+                inSameTransaction.accept(users);
+            }
+            return found;
+        });
+        checkNoneExists(foundUsers);
+        return users;
+    }
+
+    private void checkNoneExists(List<User> foundUsers) throws TicketNGProjectException {
+        if(!foundUsers.isEmpty()){
+            throw new TicketNGProjectException("User already exist !!! " + foundUsers.stream().map(User::getUserName).collect(Collectors.joining(", ")));
+        }
+    }
+
     @Override
     public UserDTO update(UserDTO dto) throws TicketNGProjectException, AccessDeniedException {
         //find current user - that has id
@@ -71,6 +177,7 @@ public class UserServiceImpl implements UserService {
         if(user == null){
             throw new TicketNGProjectException("User does not exist !!");
         }
+        checkRole(dto);
         //map user dto into entity object
         User convertedUser = mapperUtil.convert(dto,new User());
         //encode password, before saving in DB
@@ -85,8 +192,16 @@ public class UserServiceImpl implements UserService {
         convertedUser.setEnabled(true);
         //set id to the converted object
         convertedUser.setId(user.getId());
+        //role is inside the token - if it is changed, issued tokens should not be accepted anymore
+        boolean roleChanged = convertedUser.getRole() != null && !user.getRole().getId().equals(convertedUser.getRole().getId());
         //save updated user
         userRepository.save(convertedUser);
+        if(roleChanged){
+            tokenRevocationService.revoke(user.getId());
+        }
+        //cached tokens & cached authenticated user should be checked again
+        verifiedTokenCache.evictUser(user.getId());
+        principalCache.evict(user.getUserName());
         return  findByUserName(dto.getUserName());
     }
 
@@ -101,10 +216,14 @@ public class UserServiceImpl implements UserService {
         if(!checkIfUserCanBeDeleted(user)){
             throw new TicketNGProjectException("User cannot be deleted. It is linked by a project or a task !!");
         }
+        principalCache.evict(user.getUserName());
         //since username is unique, if I delete it, it will be set true with the following code in DB -- so, I cannot create with same username
         user.setUserName(user.getUserName() + "-" + user.getId());
         user.setIsDeleted(true); //now, related row in DB will not be deleted !!
         userRepository.save(user);
+        //deleted user should not be authenticated by any issued or cached token
+        tokenRevocationService.revoke(user.getId());
+        verifiedTokenCache.evictUser(user.getId());
     }
 
     @Override
@@ -113,15 +232,25 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDTO> listAllByRole(String role) {
-        List<User> users = userRepository.findAllByRoleDescriptionIgnoreCase(role);
-        return users.stream().map(obj -> mapperUtil.convert(obj,new UserDTO())).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserDTO> listAllByRole(String role, Long after, int limit) {
+        //role id is resolved in memory - users are filtered by role_id, roles table is not joined
+        Optional<Long> roleId = roleCatalog.findByDescription(role).map(RoleDTO::getId);
+        if (roleId.isEmpty()) {
+            return CursorPageDTO.of(Collections.emptyList(), limit, User::getId, obj -> mapperUtil.convert(obj,new UserDTO()));
+        }
+        List<User> users = after == null
+                ? userRepository.findAllByRoleIdOrderByFirstNameAscIdAsc(roleId.get(), CursorPageDTO.pageable(limit))
+                : userRepository.findAllByRoleAfter(roleId.get(), after, CursorPageDTO.pageable(limit));
+        return CursorPageDTO.of(users, limit, User::getId, obj -> mapperUtil.convert(obj,new UserDTO()));
     }
 
     @Override
     public Boolean checkIfUserCanBeDeleted(User user) {
 
-        switch (user.getRole().getDescription()){
+        //role is not loaded with the user - description is taken from the catalog
+        String role = roleCatalog.findById(user.getRole().getId()).map(RoleDTO::getDescription).orElse("");
+        switch (role){
             case "Manager":
                 List<ProjectDTO> projectList = projectService.readAllByAssignedManager(user);
                 return projectList.size() == 0;
@@ -134,12 +263,22 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserDTO confirm(User user) {
-        user.setEnabled(true);
-        User confirmedUser = userRepository.save(user);
+    public UserDTO confirm(Long userId) throws TicketNGProjectException {
+        //token only knows the user [id] - current state is loaded, only [enabled] is changed
+        User foundUser = userRepository.findById(userId).orElseThrow(() -> new TicketNGProjectException("User does not exist !!!"));
+        foundUser.setEnabled(true);
+        User confirmedUser = userRepository.save(foundUser);
+        principalCache.evict(foundUser.getUserName());
         return mapperUtil.convert(confirmedUser,new UserDTO());
     }
 
+    //role of the user should be one of the known roles - unknown id would only fail on foreign key
+    private void checkRole(UserDTO dto) throws TicketNGProjectException {
+        if(dto.getRole() != null && roleCatalog.findById(dto.getRole().getId()).isEmpty()){
+            throw new TicketNGProjectException("Role does not exist !!!");
+        }
+    }
+
     //readByUser()
     //admin can access anything, if role is not admin, and login user and searching user are not matching, deny access !!
     private void checkForAuthorities(User user) throws AccessDeniedException {
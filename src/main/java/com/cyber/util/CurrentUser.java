@@ -0,0 +1,27 @@
+package com.cyber.util;
+
+import com.cyber.dto.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+//logged-in user of the current request - SecurityFilter resolves it once from the token (id, role, enabled)
+//services take the [id] from here and pass it to repositories - the user is not loaded again
+@Component
+public class CurrentUser {
+
+    //empty for anonymous calls, schedulers & executors
+    public Optional<AuthenticatedUser> find() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser) {
+            return Optional.of((AuthenticatedUser) authentication.getPrincipal());
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Long> findId() {
+        return find().map(AuthenticatedUser::getId);
+    }
+}
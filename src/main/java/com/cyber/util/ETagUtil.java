@@ -0,0 +1,62 @@
+package com.cyber.util;
+
+import com.cyber.entity.BaseEntity;
+import com.cyber.entity.Project;
+import com.cyber.entity.TableVersion;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.repository.TableVersionRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import javax.persistence.Table;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//conditional GET - ETag comes from the version rows of the tables, the response itself is neither built nor serialized
+//no Last-Modified - a version tells that a table changed, not when
+@Component
+public class ETagUtil {
+
+    //writes to these tables increment their version (TableVersionInterceptor)
+    public static final Set<Class<?>> VERSIONED_ENTITIES = Set.of(Project.class, Task.class, User.class);
+
+    private final TableVersionRepository tableVersionRepository;
+
+    public ETagUtil(@Lazy TableVersionRepository tableVersionRepository) {
+        this.tableVersionRepository = tableVersionRepository;
+    }
+
+    public static String tableOf(Class<?> entity) {
+        return entity.getAnnotation(Table.class).name();
+    }
+
+    //entities are all tables the response is built from - if true, 304 is already set and the handler should return null
+    @SafeVarargs
+    public final boolean checkNotModified(NativeWebRequest webRequest, Class<? extends BaseEntity>... entities) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?').append(request.getQueryString());
+        //same URL returns different data for different users - ETag of one user never matches for another
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        key.append('|').append(authentication == null ? "" : authentication.getName());
+
+        List<String> tables = Arrays.stream(entities).map(ETagUtil::tableOf).collect(Collectors.toList());
+        //table not changed since the versions were introduced has no row yet - version 0
+        Map<String, Long> versions = tableVersionRepository.findAllById(tables).stream()
+                .collect(Collectors.toMap(TableVersion::getTableName, TableVersion::getVersion));
+        for (String table : tables) {
+            key.append('|').append(table).append('@').append(versions.getOrDefault(table, 0L));
+        }
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return webRequest.checkNotModified(eTag);
+    }
+}
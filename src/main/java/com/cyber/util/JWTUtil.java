@@ -1,32 +1,58 @@
 package com.cyber.util;
 
+import com.cyber.dto.AuthenticatedUser;
+import com.cyber.dto.TokenClaims;
 import com.cyber.entity.User;
+import com.cyber.jfr.TokenParseEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JWTUtil {
 
-    @Value("${security.jwt.secret-key}")
-    private String secret = "ticketng";
+    public static final Duration TOKEN_VALIDITY = Duration.ofHours(10);
+
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS256;
+
+    //built once - jjwt decodes the configured secret as base64, so do the same here to stay compatible with issued tokens
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+
+    public JWTUtil(@Value("${security.jwt.secret-key}") String secret) {
+        this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secret), ALGORITHM.getJcaName());
+        this.jwtParser = Jwts.parser().setSigningKey(signingKey);
+    }
 
     //this is only for payload - claims
     public String generateToken(User user){
+        return generateToken(user, user.getRole() == null ? null : user.getRole().getDescription());
+    }
+
+    //role given separately - role of a loaded user is a lazy proxy, its description comes from RoleCatalog
+    public String generateToken(User user, String role){
 
         Map<String,Object> claims = new HashMap<>();
         claims.put("username", user.getUserName());
         claims.put("id", user.getId());
         claims.put("firstName", user.getFirstName());
         claims.put("lastName", user.getLastName());
+        //role & enabled make the token self-contained - security filter does not need to load the user
+        if (role != null) {
+            claims.put("role", role);
+        }
+        claims.put("enabled", Boolean.TRUE.equals(user.getEnabled()));
 
         return createToken(claims, user.getUserName());
     }
@@ -37,38 +63,41 @@ public class JWTUtil {
                 .setClaims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))//10 hours validity
-                .signWith(SignatureAlgorithm.HS256, secret)
+                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY.toMillis()))
+                .signWith(ALGORITHM, signingKey)
                 .compact();
     }
 
-    //decode token for validation
-
-    private Claims extractAllClaims(String token){
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
-    }
-
-    private <T> T extractClaim(String token, Function<Claims,T> claimsResolver){
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    public String extractUsername(String token){
-        return extractClaim(token,Claims::getSubject);
-    }
-
-    public Date extractExpiration(String token){
-        return extractClaim(token,Claims::getExpiration);
-    }
-
-    private Boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+    //decode token for validation - signature & expiration are verified by the parser in one pass
+    //throws JwtException if the token is tampered or expired
+    public TokenClaims validateToken(String token){
+        TokenParseEvent event = new TokenParseEvent();
+        event.begin();
+        Claims claims = null;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.valid = claims != null;
+                event.commit();
+            }
+        }
+        Object id = claims.get("id");
+        return new TokenClaims(
+                claims.getSubject(),
+                id == null ? null : Long.valueOf(id.toString()),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.get("role", String.class),
+                claims.get("enabled", Boolean.class));
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails){
-        //extract token based on [id]
-        final String currentUser = extractAllClaims(token).get("id").toString();
-        return (currentUser.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateToken(TokenClaims claims, AuthenticatedUser user){
+        //token is based on [id], authenticated user is based on [id] as well
+        return claims.getId() != null
+                && claims.getId().equals(user.getId())
+                && !claims.isExpired();
     }
 
 
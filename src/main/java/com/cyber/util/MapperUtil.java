@@ -1,20 +1,181 @@
 package com.cyber.util;
 
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.ProjectDTO;
+import com.cyber.dto.RoleDTO;
+import com.cyber.dto.TaskDTO;
+import com.cyber.dto.UserDTO;
+import com.cyber.entity.Project;
+import com.cyber.entity.Role;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.jfr.MappingEvent;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 @Component
 public class MapperUtil {
 
     private ModelMapper modelMapper;
+    private RoleCatalog roleCatalog;
 
-    public MapperUtil(ModelMapper modelMapper) {
+    //source type -> target type -> mapper, registered once at startup - no reflection while converting
+    private final Map<Class<?>, Map<Class<?>, BiConsumer<Object, Object>>> mappers = new HashMap<>();
+
+    //hibernate proxies are subclasses of the entity - resolved once per proxy class
+    private final Map<Class<?>, Class<?>> resolvedSourceTypes = new ConcurrentHashMap<>();
+
+    public MapperUtil(ModelMapper modelMapper, RoleCatalog roleCatalog) {
         this.modelMapper = modelMapper;
+        this.roleCatalog = roleCatalog;
+
+        register(Role.class, RoleDTO.class, this::mapRole);
+        register(RoleDTO.class, Role.class, this::mapRole);
+        register(User.class, UserDTO.class, this::mapUser);
+        register(UserDTO.class, User.class, this::mapUser);
+        register(Project.class, ProjectDTO.class, this::mapProject);
+        register(ProjectDTO.class, Project.class, this::mapProject);
+        register(Task.class, TaskDTO.class, this::mapTask);
+        register(TaskDTO.class, Task.class, this::mapTask);
     }
 
+    //converted object is filled and returned - other type pairs fall back to ModelMapper
     public <T> T convert(Object objectToBeConverted, T convertedObject){
-        return modelMapper.map(objectToBeConverted,(Type) convertedObject.getClass());
+        if (objectToBeConverted == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+        long start = System.nanoTime();
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        BiConsumer<Object, Object> mapper = null;
+        try {
+            mapper = findMapper(objectToBeConverted.getClass(), convertedObject.getClass());
+            if (mapper == null) {
+                return modelMapper.map(objectToBeConverted,(Type) convertedObject.getClass());
+            }
+            mapper.accept(objectToBeConverted, convertedObject);
+            return convertedObject;
+        } finally {
+            RequestTimings.record(RequestTimings.Phase.MAPPING, start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.sourceType = objectToBeConverted.getClass();
+                event.targetType = convertedObject.getClass();
+                event.compiled = mapper != null;
+                event.commit();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S, T> void register(Class<S> sourceType, Class<T> targetType, BiConsumer<S, T> mapper) {
+        mappers.computeIfAbsent(sourceType, type -> new HashMap<>()).put(targetType, (BiConsumer<Object, Object>) mapper);
+    }
+
+    private BiConsumer<Object, Object> findMapper(Class<?> sourceType, Class<?> targetType) {
+        Class<?> registeredType = resolvedSourceTypes.computeIfAbsent(sourceType, type -> {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                if (mappers.containsKey(current)) {
+                    return current;
+                }
+            }
+            return Object.class;
+        });
+        Map<Class<?>, BiConsumer<Object, Object>> targets = mappers.get(registeredType);
+        return targets == null ? null : targets.get(targetType);
+    }
+
+    // ****************** type pairs ******************
+
+    private void mapRole(Role source, RoleDTO target) {
+        target.setId(source.getId());
+        target.setDescription(source.getDescription());
+    }
+
+    private void mapRole(RoleDTO source, Role target) {
+        target.setId(source.getId());
+        target.setDescription(source.getDescription());
+    }
+
+    private void mapUser(User source, UserDTO target) {
+        target.setId(source.getId());
+        target.setFirstName(source.getFirstName());
+        target.setLastName(source.getLastName());
+        target.setUserName(source.getUserName());
+        target.setPassWord(source.getPassWord());
+        target.setEnabled(Boolean.TRUE.equals(source.getEnabled()));
+        target.setPhone(source.getPhone());
+        target.setRole(source.getRole() == null ? null : roleOf(source.getRole()));
+        target.setGender(source.getGender());
+    }
+
+    private void mapUser(UserDTO source, User target) {
+        target.setId(source.getId());
+        target.setFirstName(source.getFirstName());
+        target.setLastName(source.getLastName());
+        target.setUserName(source.getUserName());
+        target.setPassWord(source.getPassWord());
+        target.setEnabled(source.isEnabled());
+        target.setPhone(source.getPhone());
+        target.setRole(source.getRole() == null ? null : mapNew(source.getRole(), new Role(), this::mapRole));
+        target.setGender(source.getGender());
+    }
+
+    private void mapProject(Project source, ProjectDTO target) {
+        target.setId(source.getId());
+        target.setProjectName(source.getProjectName());
+        target.setProjectCode(source.getProjectCode());
+        target.setAssignedManager(source.getAssignedManager() == null ? null : mapNew(source.getAssignedManager(), new UserDTO(), this::mapUser));
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setProjectDetail(source.getProjectDetail());
+        target.setProjectStatus(source.getProjectStatus());
+    }
+
+    private void mapProject(ProjectDTO source, Project target) {
+        target.setId(source.getId());
+        target.setProjectName(source.getProjectName());
+        target.setProjectCode(source.getProjectCode());
+        target.setAssignedManager(source.getAssignedManager() == null ? null : mapNew(source.getAssignedManager(), new User(), this::mapUser));
+        target.setStartDate(source.getStartDate());
+        target.setEndDate(source.getEndDate());
+        target.setProjectDetail(source.getProjectDetail());
+        target.setProjectStatus(source.getProjectStatus());
+    }
+
+    private void mapTask(Task source, TaskDTO target) {
+        target.setId(source.getId());
+        target.setProject(source.getProject() == null ? null : mapNew(source.getProject(), new ProjectDTO(), this::mapProject));
+        target.setAssignedEmployee(source.getAssignedEmployee() == null ? null : mapNew(source.getAssignedEmployee(), new UserDTO(), this::mapUser));
+        target.setTaskSubject(source.getTaskSubject());
+        target.setTaskDetail(source.getTaskDetail());
+        target.setTaskStatus(source.getTaskStatus());
+        target.setAssignedDate(source.getAssignedDate());
+    }
+
+    private void mapTask(TaskDTO source, Task target) {
+        target.setId(source.getId());
+        target.setProject(source.getProject() == null ? null : mapNew(source.getProject(), new Project(), this::mapProject));
+        target.setAssignedEmployee(source.getAssignedEmployee() == null ? null : mapNew(source.getAssignedEmployee(), new User(), this::mapUser));
+        target.setTaskSubject(source.getTaskSubject());
+        target.setTaskDetail(source.getTaskDetail());
+        target.setTaskStatus(source.getTaskStatus());
+        target.setAssignedDate(source.getAssignedDate());
+    }
+
+    //role of a user is usually a proxy - its id is known without loading it
+    private RoleDTO roleOf(Role role) {
+        return roleCatalog.findById(role.getId()).orElseGet(() -> mapNew(role, new RoleDTO(), this::mapRole));
+    }
+
+    private <S, T> T mapNew(S source, T target, BiConsumer<S, T> mapper) {
+        mapper.accept(source, target);
+        return target;
     }
 }
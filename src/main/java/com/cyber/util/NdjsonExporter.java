@@ -0,0 +1,49 @@
+package com.cyber.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+//writes rows as newline-delimited JSON while they are read from DB - memory does not grow with the number of rows
+//has to be called inside a transaction, the stream is open until the last row is written
+@Component
+public class NdjsonExporter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    //same as fetch size of the export queries - persistence context never holds more than one batch
+    public static final int BATCH_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public NdjsonExporter(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    public <E> void export(Stream<E> rows, Function<E, ?> mapper, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer();
+        int count = 0;
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(mapper.apply(iterator.next())));
+                outputStream.write('\n');
+                if (++count % BATCH_SIZE == 0) {
+                    //exported entities are not needed anymore
+                    entityManager.clear();
+                    outputStream.flush();
+                }
+            }
+        }
+        outputStream.flush();
+    }
+}
@@ -0,0 +1,94 @@
+package com.cyber.util;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+//where the time of one API call goes - collected on the request thread, written as Server-Timing header & log line
+public final class RequestTimings {
+
+    public enum Phase {
+        AUTH("auth"), DB("db"), MAPPING("mapping"), SERIALIZATION("serialization");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] calls = new int[Phase.values().length];
+    private String endpoint;
+    private String role;
+
+    private RequestTimings() {
+    }
+
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    //null outside of an API call (schedulers, executors) - nothing is recorded then
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    //phase started at [startNanos] (System.nanoTime()) has just ended
+    public static void record(Phase phase, long startNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.nanos[phase.ordinal()] += System.nanoTime() - startNanos;
+            timings.calls[phase.ordinal()]++;
+        }
+    }
+
+    public void handledBy(String endpoint, String role) {
+        this.endpoint = endpoint;
+        this.role = role;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    //auth;dur=0.42, db;dur=3.10, ..., total;dur=5.01 - milliseconds, as browsers show them
+    public String toServerTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        for (Phase phase : Phase.values()) {
+            header.add(phase.label + ";dur=" + millis(nanos[phase.ordinal()]));
+        }
+        return header.add("total;dur=" + millis(elapsedNanos())).toString();
+    }
+
+    //key=value pairs - easy to parse by log shippers
+    public String toLogLine(int status) {
+        StringJoiner line = new StringJoiner(" ");
+        line.add("endpoint=\"" + endpoint + "\"").add("role=" + role).add("status=" + status)
+                .add("total_ms=" + millis(elapsedNanos()));
+        for (Phase phase : Phase.values()) {
+            line.add(phase.label + "_ms=" + millis(nanos[phase.ordinal()])).add(phase.label + "_calls=" + calls[phase.ordinal()]);
+        }
+        return line.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
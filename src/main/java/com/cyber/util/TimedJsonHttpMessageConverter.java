@@ -0,0 +1,95 @@
+package com.cyber.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+//replaces the default JSON converter - small bodies are written to memory first, so their serialization time
+//can still go into the Server-Timing header, headers cannot be changed once the body is written
+//bodies over [bufferLimit] are streamed to the client - their serialization time is in the log line only
+@Component
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int bufferLimit;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, @Value("${api.timing.buffer-limit}") DataSize bufferLimit) {
+        super(objectMapper);
+        this.bufferLimit = (int) bufferLimit.toBytes();
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        SpillingOutputStream body = new SpillingOutputStream(outputMessage);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        RequestTimings.record(RequestTimings.Phase.SERIALIZATION, start);
+
+        if (body.buffer != null) {
+            outputMessage.getHeaders().set("Server-Timing", timings.toServerTiming());
+            body.buffer.writeTo(outputMessage.getBody());
+        }
+    }
+
+    //memory until [bufferLimit], then everything goes to the response
+    private class SpillingOutputStream extends OutputStream {
+
+        private final HttpOutputMessage outputMessage;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private OutputStream target;
+
+        SpillingOutputStream(HttpOutputMessage outputMessage) {
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null && buffer.size() + length > bufferLimit) {
+                target = outputMessage.getBody();
+                buffer.writeTo(target);
+                buffer = null;
+            }
+            if (target == null) {
+                buffer.write(bytes, offset, length);
+            } else {
+                target.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+    }
+}
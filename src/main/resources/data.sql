@@ -1,11 +1,11 @@
-insert into roles(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
-VALUES ('2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Admin'),
-       ('2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Manager'),
-       ('2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Employee');
-insert into users(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
+insert into roles(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+VALUES (nextval('roles_id_seq'), '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Admin'),
+       (nextval('roles_id_seq'), '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Manager'),
+       (nextval('roles_id_seq'), '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Employee');
+insert into users(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
                   first_name, gender, last_name, user_name, role_id, pass_word)
-values ('2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, true, 'admin', 'MALE', 'admin', 'admin@admin.com',
-        1, '$2a$10$Q7ilQ6Hv11qpU0T7xfMzMeqxoPXkvhTVXxFqg0UL2xvLnhNqB7vba');
+values (nextval('users_id_seq'), '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, true, 'admin', 'MALE', 'admin', 'admin@admin.com',
+        (select id from roles where description = 'Admin'), '$2a$10$Q7ilQ6Hv11qpU0T7xfMzMeqxoPXkvhTVXxFqg0UL2xvLnhNqB7vba');
 
         -- admin@admin.com
         -- admin
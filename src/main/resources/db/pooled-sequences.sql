@@ -0,0 +1,11 @@
+-- run once against databases created before TableSequenceGenerator: the sequences of the former identity columns
+-- increment by 1, so hibernate (increment_size_mismatch_strategy: fix) falls back to one nextval per inserted row.
+-- safe to run again - ids already handed out stay below the next pooled block.
+--   psql -h localhost -U postgres -d ticketng -f src/main/resources/db/pooled-sequences.sql
+alter sequence if exists roles_id_seq increment by 50;
+alter sequence if exists users_id_seq increment by 50;
+alter sequence if exists projects_id_seq increment by 50;
+alter sequence if exists tasks_id_seq increment by 50;
+alter sequence if exists confirmation_email_id_seq increment by 50;
+alter sequence if exists token_revocations_id_seq increment by 50;
+alter sequence if exists mail_outbox_id_seq increment by 50;
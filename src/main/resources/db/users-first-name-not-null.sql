@@ -0,0 +1,5 @@
+-- run once against databases created before users.first_name became NOT NULL (ddl-auto: update does not tighten
+-- existing columns) - the keyset pagination compares (first_name, id) and would skip users without a first name.
+--   psql -h localhost -U postgres -d ticketng -f src/main/resources/db/users-first-name-not-null.sql
+update users set first_name = '' where first_name is null;
+alter table users alter column first_name set not null;
@@ -0,0 +1,63 @@
+package com.cyber;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//context cannot start when a @Scheduled interval does not parse - checked here without a database
+//fixedDelayString & co. accept milliseconds or ISO-8601 (PT30S) only, not "30s"
+class ScheduledIntervalsTest {
+
+    @Test
+    public void givenApplicationYaml_whenScheduledIntervalsResolved_thenAllParse() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        for (PropertySource<?> source : new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yaml"))) {
+            environment.getPropertySources().addLast(source);
+        }
+
+        List<String> intervals = new ArrayList<>();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> reader.getAnnotationMetadata().hasAnnotatedMethods(Scheduled.class.getName()));
+        for (var candidate : scanner.findCandidateComponents("com.cyber")) {
+            for (Method method : Class.forName(candidate.getBeanClassName(), false, getClass().getClassLoader()).getDeclaredMethods()) {
+                Scheduled scheduled = method.getAnnotation(Scheduled.class);
+                if (scheduled != null) {
+                    for (String value : List.of(scheduled.fixedDelayString(), scheduled.fixedRateString(), scheduled.initialDelayString())) {
+                        if (!value.isEmpty()) {
+                            String interval = environment.resolveRequiredPlaceholders(value);
+                            assertTrue(parses(interval), method + " - " + value + " = " + interval);
+                            intervals.add(interval);
+                        }
+                    }
+                }
+            }
+        }
+        assertFalse(intervals.isEmpty());
+    }
+
+    //same rule as ScheduledAnnotationBeanPostProcessor
+    private boolean parses(String interval) {
+        try {
+            if (interval.length() > 1 && (Character.toUpperCase(interval.charAt(0)) == 'P' || Character.toUpperCase(interval.charAt(1)) == 'P')) {
+                Duration.parse(interval);
+            } else {
+                Long.parseLong(interval);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.cyber;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+//whole application on H2 - RunTests needs a real postgres
+//own database name - context is kept open, repository tests would find its data.sql rows
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+class StartupSmokeTest {
+
+    @Autowired
+    ScheduledTaskHolder scheduledTaskHolder;
+
+    //@Scheduled intervals are parsed while the context starts
+    @Test
+    public void givenApplication_whenStarted_thenScheduledJobsAreRegistered() {
+        assertFalse(scheduledTaskHolder.getScheduledTasks().isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package com.cyber.benchmark;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.entity.Project;
+import com.cyber.entity.Role;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.enums.Gender;
+import com.cyber.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+//same object graph for every benchmark: Task -> Project -> User -> Role
+final class BenchmarkFixtures {
+
+    static final String SECRET = "ticketng";
+
+    private BenchmarkFixtures() {
+    }
+
+    static Role role(Long id, String description) {
+        Role role = new Role(description);
+        role.setId(id);
+        return role;
+    }
+
+    //interface stub answering one method - benchmarks do not depend on constructors of the real implementations
+    static <T> T stub(Class<T> type, String methodName, Function<Object[], Object> answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals(methodName)) {
+                return answer.apply(args);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+
+    static RoleCatalog roleCatalog() {
+        return RoleCatalog.of(List.of(role(1L, "Admin"), role(2L, "Manager"), role(3L, "Employee")));
+    }
+
+    static User user(Long id, String userName, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("first" + id);
+        user.setLastName("last" + id);
+        user.setUserName(userName);
+        user.setPassWord("$2a$10$Q7ilQ6Hv11qpU0T7xfMzMeqxoPXkvhTVXxFqg0UL2xvLnhNqB7vba");
+        user.setEnabled(true);
+        user.setPhone("555-0000");
+        user.setRole(role);
+        user.setGender(Gender.MALE);
+        return user;
+    }
+
+    static Project project(Long id, User manager) {
+        Project project = new Project();
+        project.setId(id);
+        project.setProjectCode("PRJ" + id);
+        project.setProjectName("Project " + id);
+        project.setAssignedManager(manager);
+        project.setStartDate(LocalDate.of(2022, 1, 1));
+        project.setEndDate(LocalDate.of(2022, 6, 1));
+        project.setProjectDetail("benchmark project");
+        project.setProjectStatus(Status.IN_PROGRESS);
+        return project;
+    }
+
+    static Task task(Long id) {
+        User manager = user(2L, "manager@ticketng.com", role(2L, "Manager"));
+        User employee = user(3L, "employee@ticketng.com", role(3L, "Employee"));
+        Task task = new Task();
+        task.setId(id);
+        task.setProject(project(10L, manager));
+        task.setAssignedEmployee(employee);
+        task.setTaskSubject("subject " + id);
+        task.setTaskDetail("detail " + id);
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.of(2022, 1, 5));
+        return task;
+    }
+
+    //same settings spring boot applies to its ObjectMapper
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cyber.benchmark;
+
+import com.cyber.cache.VerifiedTokenCache;
+import com.cyber.dto.TokenClaims;
+import com.cyber.entity.User;
+import com.cyber.util.JWTUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JWTUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil(BenchmarkFixtures.SECRET);
+        verifiedTokenCache = new VerifiedTokenCache(10_000, Duration.ofMinutes(30));
+        user = BenchmarkFixtures.user(2L, "manager@ticketng.com", BenchmarkFixtures.role(2L, "Manager"));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public TokenClaims validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    //what the security filter pays for a token it has already seen
+    @Benchmark
+    public TokenClaims validateCachedToken() {
+        return verifiedTokenCache.get(token, jwtUtil::validateToken);
+    }
+}
@@ -0,0 +1,99 @@
+package com.cyber.benchmark;
+
+import com.cyber.dto.ProjectDTO;
+import com.cyber.dto.RoleDTO;
+import com.cyber.dto.TaskDTO;
+import com.cyber.dto.UserDTO;
+import com.cyber.entity.Project;
+import com.cyber.entity.Role;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.util.MapperUtil;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private MapperUtil mapperUtil;
+
+    private Task task;
+    private TaskDTO taskDTO;
+    private Project project;
+    private ProjectDTO projectDTO;
+    private User user;
+    private UserDTO userDTO;
+    private Role role;
+    private RoleDTO roleDTO;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        mapperUtil = new MapperUtil(modelMapper, BenchmarkFixtures.roleCatalog());
+
+        task = BenchmarkFixtures.task(100L);
+        project = task.getProject();
+        user = project.getAssignedManager();
+        role = user.getRole();
+
+        taskDTO = mapperUtil.convert(task, new TaskDTO());
+        projectDTO = taskDTO.getProject();
+        userDTO = projectDTO.getAssignedManager();
+        roleDTO = userDTO.getRole();
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto() {
+        return mapperUtil.convert(task, new TaskDTO());
+    }
+
+    @Benchmark
+    public Task dtoToTask() {
+        return mapperUtil.convert(taskDTO, new Task());
+    }
+
+    @Benchmark
+    public ProjectDTO projectToDto() {
+        return mapperUtil.convert(project, new ProjectDTO());
+    }
+
+    @Benchmark
+    public Project dtoToProject() {
+        return mapperUtil.convert(projectDTO, new Project());
+    }
+
+    @Benchmark
+    public UserDTO userToDto() {
+        return mapperUtil.convert(user, new UserDTO());
+    }
+
+    @Benchmark
+    public User dtoToUser() {
+        return mapperUtil.convert(userDTO, new User());
+    }
+
+    @Benchmark
+    public RoleDTO roleToDto() {
+        return mapperUtil.convert(role, new RoleDTO());
+    }
+
+    @Benchmark
+    public Role dtoToRole() {
+        return mapperUtil.convert(roleDTO, new Role());
+    }
+
+    //baseline - what every conversion cost before MapperUtil had its own mappers
+    @Benchmark
+    public TaskDTO taskToDtoModelMapper() {
+        return modelMapper.map(task, (Type) TaskDTO.class);
+    }
+}
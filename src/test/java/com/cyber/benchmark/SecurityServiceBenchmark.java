@@ -0,0 +1,56 @@
+package com.cyber.benchmark;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.AuthenticatedUser;
+import com.cyber.dto.UserDTO;
+import com.cyber.entity.User;
+import com.cyber.repository.UserRepository;
+import com.cyber.service.SecurityService;
+import com.cyber.service.SecurityServiceImpl;
+import com.cyber.service.UserService;
+import com.cyber.util.JWTUtil;
+import com.cyber.util.MapperUtil;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+//repository is a plain stub, so only service & mapping cost is measured - not the database
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityServiceBenchmark {
+
+    private static final String USERNAME = "manager@ticketng.com";
+
+    private SecurityService securityService;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user(2L, USERNAME, BenchmarkFixtures.role(2L, "Manager"));
+        UserRepository userRepository = BenchmarkFixtures.stub(UserRepository.class, "findByUserName",
+                args -> USERNAME.equals(args[0]) ? user : null);
+
+        RoleCatalog roleCatalog = BenchmarkFixtures.roleCatalog();
+        MapperUtil mapperUtil = new MapperUtil(new ModelMapper(), roleCatalog);
+        //same work as UserServiceImpl.findByUserName for an anonymous caller - load & map
+        UserService userService = BenchmarkFixtures.stub(UserService.class, "findByUserName",
+                args -> mapperUtil.convert(userRepository.findByUserName((String) args[0]), new UserDTO()));
+        securityService = new SecurityServiceImpl(userService, userRepository, roleCatalog, new BCryptPasswordEncoder(4), new JWTUtil(BenchmarkFixtures.SECRET));
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return securityService.loadUserByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public AuthenticatedUser loadAuthenticatedUser() {
+        return securityService.loadAuthenticatedUser(USERNAME);
+    }
+}
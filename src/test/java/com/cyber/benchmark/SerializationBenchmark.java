@@ -0,0 +1,44 @@
+package com.cyber.benchmark;
+
+import com.cyber.dto.TaskDTO;
+import com.cyber.entity.ResponseWrapper;
+import com.cyber.util.MapperUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ResponseWrapper response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        MapperUtil mapperUtil = new MapperUtil(new ModelMapper(), BenchmarkFixtures.roleCatalog());
+        List<TaskDTO> tasks = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> mapperUtil.convert(BenchmarkFixtures.task(id), new TaskDTO()))
+                .collect(Collectors.toList());
+        response = new ResponseWrapper("Tasks are retrieved successfully", tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,56 @@
+package com.cyber.cache;
+
+import com.cyber.entity.Role;
+import com.cyber.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class RoleCatalogTest {
+
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final RoleCatalog roleCatalog = new RoleCatalog(roleRepository, Duration.ofMinutes(1));
+
+    @Test
+    public void givenLoadedCatalog_whenLookup_thenRolesAreReadOnce() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(2L, "Manager"), role(1L, "Admin")));
+
+        assertEquals("Manager", roleCatalog.findById(2L).orElseThrow().getDescription());
+        assertEquals(1L, roleCatalog.findByDescription("ADMIN").orElseThrow().getId());
+        assertEquals(List.of(1L, 2L), List.of(roleCatalog.findAll().get(0).getId(), roleCatalog.findAll().get(1).getId()));
+
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void givenNewRole_whenFindById_thenCatalogIsRefreshed() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "Admin")), List.of(role(1L, "Admin"), role(4L, "Auditor")));
+
+        assertTrue(roleCatalog.findByDescription("Auditor").isEmpty());
+        assertEquals("Auditor", roleCatalog.findById(4L).orElseThrow().getDescription());
+        assertTrue(roleCatalog.findById(5L).isEmpty());
+    }
+
+    //ids sent by clients - unknown ones must not reload the roles on every request
+    @Test
+    public void givenUnknownIds_whenFindByIdRepeatedly_thenRefreshedOnlyOncePerInterval() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "Admin")));
+
+        for (long id = 100; id < 110; id++) {
+            assertTrue(roleCatalog.findById(id).isEmpty());
+        }
+
+        verify(roleRepository, times(2)).findAll(); //initial load + one refresh for the first miss
+    }
+
+    private Role role(Long id, String description) {
+        Role role = new Role(description);
+        role.setId(id);
+        return role;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cyber.cache;
+
+import com.cyber.dto.TokenClaims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VerifiedTokenCacheTest {
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofMinutes(30));
+
+    @Test
+    public void givenSameToken_whenGetTwice_thenVerifiedOnce() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        verifiedTokenCache.get("token", token -> claims(1L, verifications));
+        verifiedTokenCache.get("token", token -> claims(1L, verifications));
+
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    public void givenEvictedUser_whenGet_thenVerifiedAgain() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        verifiedTokenCache.get("token", token -> claims(1L, verifications));
+        verifiedTokenCache.get("other", token -> claims(2L, verifications));
+        verifiedTokenCache.evictUser(1L);
+        verifiedTokenCache.get("token", token -> claims(1L, verifications));
+        verifiedTokenCache.get("other", token -> claims(2L, verifications));
+
+        assertEquals(3, verifications.get());
+    }
+
+    private TokenClaims claims(Long id, AtomicInteger verifications) {
+        verifications.incrementAndGet();
+        return new TokenClaims("user" + id, id, new Date(), new Date(System.currentTimeMillis() + 60_000), "Manager", true);
+    }
+}
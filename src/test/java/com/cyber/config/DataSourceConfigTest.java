@@ -0,0 +1,59 @@
+package com.cyber.config;
+
+import com.cyber.service.TaskService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//replica is the same in-memory database here - only the wiring is checked, routing is in ReplicaRoutingDataSourceTest
+//own database name - context is kept open, repository tests would find its data.sql rows
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + DataSourceConfigTest.URL,
+        "app.datasource.replica.url=" + DataSourceConfigTest.URL,
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "spring.datasource.hikari.connection-timeout=4000",
+        "app.datasource.replica.hikari.maximum-pool-size=12"})
+@ActiveProfiles("h2")
+class DataSourceConfigTest {
+
+    static final String URL = "jdbc:h2:mem:routing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    @Qualifier(DataSourceConfig.PRIMARY_DATA_SOURCE)
+    HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier(DataSourceConfig.REPLICA_DATA_SOURCE)
+    HikariDataSource replicaDataSource;
+
+    @Autowired
+    TaskService taskService;
+
+    @Test
+    public void givenReplicaUrl_whenContextStarts_thenRoutingDataSourceIsUsed() {
+        assertTrue(dataSource instanceof LazyConnectionDataSourceProxy);
+        assertEquals("replica", replicaDataSource.getPoolName());
+        assertTrue(taskService.listAllTasks(null, 10).getItems().isEmpty());
+    }
+
+    @Test
+    public void givenHikariProperties_whenContextStarts_thenBothPoolsUseThem() {
+        assertEquals(7, primaryDataSource.getMaximumPoolSize());
+        assertEquals(4000, primaryDataSource.getConnectionTimeout());
+        assertEquals(12, replicaDataSource.getMaximumPoolSize());
+        assertEquals(4000, replicaDataSource.getConnectionTimeout());
+        assertEquals("primary", primaryDataSource.getPoolName());
+    }
+}
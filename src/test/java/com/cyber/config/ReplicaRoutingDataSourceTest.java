@@ -0,0 +1,79 @@
+package com.cyber.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//two in-memory H2 databases stand in for primary & replica - each one knows its own name
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource dataSource = new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(database("primary"), database("replica"), Duration.ofMinutes(1)));
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenReadOnlyTransaction_whenQuery_thenReplicaIsUsed() {
+        login("2");
+
+        assertEquals("replica", databaseName(true));
+        assertEquals("primary", databaseName(false));
+    }
+
+    @Test
+    public void givenUserHasJustWritten_whenReadOnlyQuery_thenPrimaryIsUsedForThatUser() {
+        login("2");
+        databaseName(false); //committed read-write transaction
+
+        assertEquals("primary", databaseName(true));
+        login("3");
+        assertEquals("replica", databaseName(true));
+    }
+
+    @Test
+    public void givenRolledBackWrite_whenReadOnlyQuery_thenReplicaIsUsed() {
+        login("2");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", databaseName(true));
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource database = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        template.execute("DELETE FROM node");
+        template.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+
+    private void login(String id) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(id, null));
+    }
+}
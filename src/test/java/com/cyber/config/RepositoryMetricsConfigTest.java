@@ -0,0 +1,48 @@
+package com.cyber.config;
+
+import com.cyber.repository.RoleRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//own database name - context is kept open, repository tests would find its data.sql rows
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+@AutoConfigureMetrics //tests use a simple registry otherwise
+class RepositoryMetricsConfigTest {
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Test
+    public void givenRepositoryCall_whenScraped_thenTimeRowsAndPoolAreExported() {
+        double before = rowsOfFindAllById();
+        int roles = roleRepository.findAllById(List.of(1L, 2L)).size();
+
+        assertEquals(roles, rowsOfFindAllById() - before);
+        String scrape = prometheusMeterRegistry.scrape();
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("spring_data_repository_rows_count{"));
+        assertTrue(scrape.contains("hikaricp_connections_active{"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket{"));
+    }
+
+    //role catalog reads roles with findAll on its own schedule - a method nobody else calls is checked
+    private double rowsOfFindAllById() {
+        return prometheusMeterRegistry.find(RepositoryRowsInterceptor.METRIC)
+                .tag("repository", "RoleRepository").tag("method", "findAllById").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount).sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.cyber.config;
+
+import com.cyber.entity.TableVersion;
+import com.cyber.entity.User;
+import com.cyber.enums.Gender;
+import com.cyber.repository.RoleRepository;
+import com.cyber.repository.TableVersionRepository;
+import com.cyber.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//own database name - context is kept open, repository tests would find its data.sql rows
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:versions;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+class TableVersionConfigTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    TableVersionRepository tableVersionRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void givenCommittedWrites_whenReadVersion_thenIncrementedOncePerTransaction() {
+        User user = userRepository.save(user("mike"));
+        long afterInsert = version("users");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            user.setLastName("brown");
+            userRepository.save(user);
+            userRepository.save(user("jane"));
+        });
+        assertEquals(afterInsert + 1, version("users"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user("tom"));
+            status.setRollbackOnly();
+        });
+        assertEquals(afterInsert + 1, version("users"));
+
+        userRepository.deleteByUserName("jane@ticketng.com");
+        userRepository.delete(user);
+        assertEquals(afterInsert + 3, version("users"));
+    }
+
+    private long version(String tableName) {
+        return tableVersionRepository.findById(tableName).map(TableVersion::getVersion).orElse(0L);
+    }
+
+    private User user(String firstName) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("smith");
+        user.setUserName(firstName + "@ticketng.com");
+        user.setPassWord("abc123");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(roleRepository.findByDescription("Manager"));
+        return user;
+    }
+}
@@ -0,0 +1,90 @@
+package com.cyber.filter;
+
+import com.cyber.cache.PrincipalCache;
+import com.cyber.cache.RoleCatalog;
+import com.cyber.cache.VerifiedTokenCache;
+import com.cyber.dto.AuthenticatedUser;
+import com.cyber.entity.Role;
+import com.cyber.entity.User;
+import com.cyber.repository.UserRepository;
+import com.cyber.service.SecurityServiceImpl;
+import com.cyber.service.TokenRevocationService;
+import com.cyber.util.JWTUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SecurityFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JWTUtil jwtUtil = new JWTUtil("ticketng");
+    private final SecurityFilter securityFilter = new SecurityFilter(jwtUtil,
+            new SecurityServiceImpl(null, userRepository, RoleCatalog.of(List.of(role())), mock(PasswordEncoder.class), jwtUtil),
+            new VerifiedTokenCache(100, Duration.ofMinutes(30)),
+            new PrincipalCache(100, Duration.ofMinutes(10)),
+            mock(TokenRevocationService.class));
+
+    @AfterEach
+    public void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    //older tokens carry no role - user is loaded once, then served from PrincipalCache
+    @Test
+    public void givenTokenWithoutRole_whenAuthenticatedTwice_thenUserLoadedOnce() throws Exception {
+        User user = user();
+        when(userRepository.findByUserName("mike@ticketng.com")).thenReturn(user);
+        user.setRole(null);
+        String token = jwtUtil.generateToken(user);
+        user.setRole(role());
+
+        assertEquals(5L, authenticate(token).getId());
+        assertEquals(5L, authenticate(token).getId());
+
+        verify(userRepository, times(1)).findByUserName(anyString());
+    }
+
+    @Test
+    public void givenSelfContainedToken_whenAuthenticatedTwice_thenUserNeverLoaded() throws Exception {
+        String token = jwtUtil.generateToken(user());
+
+        assertEquals("Manager", authenticate(token).getRole());
+        assertEquals("Manager", authenticate(token).getRole());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private AuthenticatedUser authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/task");
+        request.addHeader("Authorization", "Bearer " + token);
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(5L);
+        user.setUserName("mike@ticketng.com");
+        user.setEnabled(true);
+        user.setRole(role());
+        return user;
+    }
+
+    private static Role role() {
+        Role role = new Role("Manager");
+        role.setId(2L);
+        return role;
+    }
+}
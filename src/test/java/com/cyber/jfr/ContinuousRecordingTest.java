@@ -0,0 +1,63 @@
+package com.cyber.jfr;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.RoleDTO;
+import com.cyber.entity.Role;
+import com.cyber.util.JWTUtil;
+import com.cyber.util.MapperUtil;
+import io.jsonwebtoken.JwtException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.modelmapper.ModelMapper;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContinuousRecordingTest {
+
+    @Test
+    public void givenBundledSettings_whenLoaded_thenOurEventsAreEnabled() throws Exception {
+        Map<String, String> settings = ContinuousRecording.settings();
+
+        assertEquals("true", settings.get("com.cyber.RepositoryInvocation#enabled"));
+        assertEquals("5 ms", settings.get("com.cyber.RepositoryInvocation#threshold"));
+        //JDK default profile is still there
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    public void givenRecording_whenMappedPasswordMatchedAndTokenRejected_thenEventsAreRecorded(@TempDir Path directory) throws Exception {
+        RecordingPasswordEncoder passwordEncoder = new RecordingPasswordEncoder(new BCryptPasswordEncoder(4));
+        MapperUtil mapperUtil = new MapperUtil(new ModelMapper(), RoleCatalog.of(List.of()));
+        JWTUtil jwtUtil = new JWTUtil("ticketng");
+        Path file = directory.resolve("test.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(MappingEvent.class).withoutThreshold();
+            recording.enable(PasswordEncoderEvent.class).withoutThreshold();
+            recording.enable(TokenParseEvent.class).withoutThreshold();
+            recording.start();
+            mapperUtil.convert(new Role("Manager"), new RoleDTO());
+            assertTrue(passwordEncoder.matches("abc1", passwordEncoder.encode("abc1")));
+            assertThrows(JwtException.class, () -> jwtUtil.validateToken("not.a.token"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent mapping = events.stream().filter(event -> event.getEventType().getName().equals("com.cyber.Mapping")).findFirst().orElseThrow();
+        assertEquals(RoleDTO.class.getName(), mapping.getClass("targetType").getName());
+        assertTrue(mapping.getBoolean("compiled"));
+        assertEquals(2, events.stream().filter(event -> event.getEventType().getName().equals("com.cyber.PasswordEncoder")).count());
+        //rejected token is recorded as well - event is ended & committed in finally
+        RecordedEvent tokenParse = events.stream().filter(event -> event.getEventType().getName().equals("com.cyber.TokenParse")).findFirst().orElseThrow();
+        assertFalse(tokenParse.getBoolean("valid"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.cyber.repository;
+
+import com.cyber.entity.ConfirmationToken;
+import com.cyber.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ConfirmationTokenRepositoryTest {
+
+    @Autowired
+    ConfirmationTokenRepository confirmationTokenRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    //used and expired tokens are deleted batch by batch, valid ones stay
+    @Test
+    public void givenUsedAndExpiredTokens_whenDeleteInBatches_thenOnlyValidTokensLeft() {
+        User admin = userRepository.findByUserName("admin@admin.com");
+        ConfirmationToken valid = save(admin, LocalDate.now().plusDays(1), false);
+        save(admin, LocalDate.now().minusDays(1), false);
+        save(admin, LocalDate.now().minusDays(3), false);
+        save(admin, LocalDate.now().plusDays(1), true);
+        entityManager.flush();
+
+        int expired = confirmationTokenRepository.deleteExpiredBefore(LocalDate.now(), 1);
+        int expiredLeft = confirmationTokenRepository.deleteExpiredBefore(LocalDate.now(), 1);
+        int used = confirmationTokenRepository.deleteUsed(2);
+        entityManager.clear();
+
+        assertEquals(1, expired);
+        assertEquals(1, expiredLeft);
+        assertEquals(1, used);
+        List<ConfirmationToken> left = confirmationTokenRepository.findAll();
+        assertEquals(1, left.size());
+        assertEquals(valid.getToken(), left.get(0).getToken());
+        assertEquals(admin.getId(), confirmationTokenRepository.findRefByToken(valid.getToken()).orElseThrow().getUserId());
+    }
+
+    private ConfirmationToken save(User user, LocalDate expiryDate, boolean used) {
+        ConfirmationToken confirmationToken = new ConfirmationToken(user);
+        confirmationToken.setExpiryDate(expiryDate);
+        confirmationToken.setIsDeleted(used);
+        return confirmationTokenRepository.save(confirmationToken);
+    }
+}
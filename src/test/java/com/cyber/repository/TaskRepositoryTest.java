@@ -0,0 +1,119 @@
+package com.cyber.repository;
+
+import com.cyber.entity.Project;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    private TestEntities testEntities;
+
+    @BeforeEach
+    public void createTestEntities() {
+        testEntities = new TestEntities(userRepository, roleRepository, projectRepository, taskRepository);
+    }
+
+    @Test
+    public void givenProjectTasks_whenSoftDeleteByProject_thenOnlyThatProjectTasksAreGone() {
+        User manager = testEntities.user("mike", "Manager");
+        User employee = testEntities.user("jane", "Employee");
+        Project api = testEntities.project("Api1", manager);
+        Project ui = testEntities.project("Ui1", manager);
+        testEntities.task(api, employee, Status.OPEN);
+        testEntities.task(api, employee, Status.COMPLETE);
+        testEntities.task(ui, employee, Status.OPEN);
+
+        int deleted = taskRepository.softDeleteAllByProjectId(api.getId(), LocalDateTime.now(), 7L);
+        entityManager.clear();
+
+        assertEquals(2, deleted);
+        assertTrue(taskRepository.findAllByProject(api).isEmpty()); //@Where hides soft deleted rows
+        assertEquals(1, taskRepository.findAllByProject(ui).size());
+    }
+
+    //no open-in-view - tasks are mapped after the repository call, so everything TaskDTO needs must already be loaded
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void givenNoSession_whenReadTasksOfManager_thenAssociationsAreLoaded() {
+        User manager = testEntities.user("mike", "Manager");
+        User employee = testEntities.user("jane", "Employee");
+        Project api = testEntities.project("Api1", manager);
+        testEntities.task(api, employee, Status.OPEN);
+        try {
+            List<Task> tasks = taskRepository.findAllByProjectAssignedManagerId(manager.getId());
+            Task task = taskRepository.findById(tasks.get(0).getId()).orElseThrow();
+            Project project = projectRepository.findByProjectCode("Api1");
+
+            assertEquals(1, tasks.size());
+            for (Task detached : List.of(tasks.get(0), task)) {
+                assertEquals("mike", detached.getProject().getAssignedManager().getFirstName());
+                assertEquals(employee.getRole().getId(), detached.getAssignedEmployee().getRole().getId());
+            }
+            assertEquals(manager.getRole().getId(), project.getAssignedManager().getRole().getId());
+        } finally {
+            taskRepository.deleteAll(taskRepository.findAllByProject(api));
+            projectRepository.delete(api);
+            userRepository.deleteAll(List.of(manager, employee));
+        }
+    }
+
+    //ids come from the pooled sequence - no insert is needed to know the id, so inserts can be batched
+    @Test
+    public void givenManyTasks_whenSaveAll_thenIdsAreAssignedBeforeFlush() {
+        User manager = testEntities.user("mike", "Manager");
+        User employee = testEntities.user("jane", "Employee");
+        Project api = testEntities.project("Api1", manager);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task task = new Task();
+            task.setProject(api);
+            task.setAssignedEmployee(employee);
+            task.setTaskSubject("subject" + i);
+            task.setTaskStatus(Status.OPEN);
+            tasks.add(task);
+        }
+
+        taskRepository.saveAll(tasks);
+
+        assertEquals(120, tasks.stream().map(Task::getId).filter(Objects::nonNull).distinct().count());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(120, taskRepository.findAllByProject(api).size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.cyber.repository;
+
+import com.cyber.entity.Project;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.enums.Gender;
+import com.cyber.enums.Status;
+
+//saved users, projects & tasks for tests on H2 - not a bean, an @Import would give the test its own context (and data.sql run)
+public class TestEntities {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+
+    public TestEntities(UserRepository userRepository, RoleRepository roleRepository, ProjectRepository projectRepository, TaskRepository taskRepository) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    //role is one of data.sql roles - Admin, Manager, Employee
+    public User user(String firstName, String role) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("smith");
+        user.setUserName(firstName + "@ticketng.com");
+        user.setPassWord("abc123");
+        user.setEnabled(true);
+        user.setGender(Gender.FEMALE);
+        user.setRole(roleRepository.findByDescription(role));
+        return userRepository.save(user);
+    }
+
+    public Project project(String code, User manager) {
+        Project project = new Project();
+        project.setProjectCode(code);
+        project.setProjectName(code);
+        project.setAssignedManager(manager);
+        project.setProjectStatus(Status.OPEN);
+        return projectRepository.save(project);
+    }
+
+    public Task task(Project project, User employee, Status status) {
+        Task task = new Task();
+        task.setProject(project);
+        task.setAssignedEmployee(employee);
+        task.setTaskSubject("subject");
+        task.setTaskStatus(status);
+        return taskRepository.save(task);
+    }
+}
@@ -0,0 +1,93 @@
+package com.cyber.repository;
+
+import com.cyber.dto.CursorPageDTO;
+import com.cyber.entity.Role;
+import com.cyber.entity.User;
+import com.cyber.enums.Gender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRepositoryTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @BeforeEach
+    void setUp() {
+        Role manager = roleRepository.findByDescription("Manager");
+        Role employee = roleRepository.findByDescription("Employee");
+        //same first names on purpose - (first_name, id) decides the order
+        save("bob", manager);
+        save("alice", employee);
+        save("bob", employee);
+        save("carl", manager);
+        save("alice", manager);
+    }
+
+    //walking all pages should return every user exactly once, in (first name, id) order
+    @Test
+    public void givenUsers_whenReadPageByPage_thenAllUsersInOrder() {
+        List<User> expected = userRepository.findAllByOrderByFirstNameAscIdAsc(CursorPageDTO.pageable(CursorPageDTO.MAX_LIMIT));
+
+        List<String> walked = new ArrayList<>();
+        CursorPageDTO<User> page = CursorPageDTO.of(userRepository.findAllByOrderByFirstNameAscIdAsc(CursorPageDTO.pageable(2)), 2, User::getId, user -> user);
+        walked.addAll(names(page.getItems()));
+        while (page.getNextCursor() != null) {
+            page = CursorPageDTO.of(userRepository.findAllAfter(page.getNextCursor(), CursorPageDTO.pageable(2)), 2, User::getId, user -> user);
+            walked.addAll(names(page.getItems()));
+        }
+
+        assertEquals(names(expected), walked);
+        assertEquals(6, walked.size()); //5 + admin from data.sql
+    }
+
+    @Test
+    public void givenRole_whenReadNextPage_thenOnlyUsersOfRoleAfterCursor() {
+        Long manager = roleRepository.findByDescription("Manager").getId();
+        List<User> firstPage = userRepository.findAllByRoleIdOrderByFirstNameAscIdAsc(manager, CursorPageDTO.pageable(1));
+        List<User> nextPage = userRepository.findAllByRoleAfter(manager, firstPage.get(0).getId(), CursorPageDTO.pageable(5));
+
+        assertEquals("alice", firstPage.get(0).getFirstName());
+        assertEquals(List.of("bob", "carl"), nextPage.stream().map(User::getFirstName).collect(Collectors.toList()));
+    }
+
+    //a NULL first name would fall out of the (first_name, id) row comparison
+    @Test
+    public void givenUserWithoutFirstName_whenSave_thenRejected() {
+        assertThrows(DataIntegrityViolationException.class, () -> save(null, roleRepository.findByDescription("Employee")));
+    }
+
+    private void save(String firstName, Role role) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("smith");
+        user.setUserName(firstName + System.nanoTime() + "@ticketng.com");
+        user.setPassWord("abc123");
+        user.setEnabled(true);
+        user.setGender(Gender.FEMALE);
+        user.setRole(role);
+        userRepository.saveAndFlush(user);
+    }
+
+    private List<String> names(List<User> users) {
+        return users.stream().map(user -> user.getFirstName() + "-" + user.getId()).collect(Collectors.toList());
+    }
+}
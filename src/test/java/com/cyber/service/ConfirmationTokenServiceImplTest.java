@@ -0,0 +1,62 @@
+package com.cyber.service;
+
+import com.cyber.cache.ConfirmationTokenCache;
+import com.cyber.dto.ConfirmationTokenRefDTO;
+import com.cyber.exception.TicketNGProjectException;
+import com.cyber.repository.ConfirmationTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ConfirmationTokenServiceImplTest {
+
+    private final ConfirmationTokenRepository confirmationTokenRepository = mock(ConfirmationTokenRepository.class);
+    private final ConfirmationTokenService confirmationTokenService = new ConfirmationTokenServiceImpl(confirmationTokenRepository, null,
+            new ConfirmationTokenCache(100, Duration.ofMinutes(30)), 2);
+
+    @Test
+    public void givenSameToken_whenReadTwice_thenLoadedOnce() throws TicketNGProjectException {
+        ConfirmationTokenRefDTO confirmationToken = token();
+        when(confirmationTokenRepository.findRefByToken(confirmationToken.getToken())).thenReturn(Optional.of(confirmationToken));
+
+        confirmationTokenService.readByToken(confirmationToken.getToken());
+        confirmationTokenService.readByToken(confirmationToken.getToken());
+
+        verify(confirmationTokenRepository, times(1)).findRefByToken(confirmationToken.getToken());
+    }
+
+    @Test
+    public void givenUsedToken_whenRead_thenLoadedAgainAndRejected() throws TicketNGProjectException {
+        ConfirmationTokenRefDTO confirmationToken = token();
+        when(confirmationTokenRepository.findRefByToken(confirmationToken.getToken())).thenReturn(Optional.of(confirmationToken), Optional.empty());
+
+        confirmationTokenService.delete(confirmationTokenService.readByToken(confirmationToken.getToken()));
+
+        assertThrows(TicketNGProjectException.class, () -> confirmationTokenService.readByToken(confirmationToken.getToken()));
+        verify(confirmationTokenRepository).softDeleteById(eq(7L), any(), any());
+        verify(confirmationTokenRepository, times(2)).findRefByToken(confirmationToken.getToken());
+    }
+
+    @Test
+    public void givenManyTokensToDelete_whenSweep_thenDeletedBatchByBatch() {
+        when(confirmationTokenRepository.deleteExpiredBefore(any(), anyInt())).thenReturn(2, 2, 1);
+        when(confirmationTokenRepository.deleteUsed(anyInt())).thenReturn(2, 0);
+
+        assertEquals(7, confirmationTokenService.sweep());
+        verify(confirmationTokenRepository, times(3)).deleteExpiredBefore(any(), eq(2));
+        verify(confirmationTokenRepository, times(2)).deleteUsed(2);
+    }
+
+    private ConfirmationTokenRefDTO token() {
+        return new ConfirmationTokenRefDTO(7L, UUID.randomUUID().toString(), 3L, LocalDate.now().plusDays(1));
+    }
+}
@@ -0,0 +1,86 @@
+package com.cyber.service;
+
+import com.cyber.entity.MailOutbox;
+import com.cyber.repository.MailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MailOutboxServiceImplTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void givenQueuedEmails_whenSendBatch_thenDeliveredOverSmtp() throws Exception {
+        MailOutboxServiceImpl mailOutboxService = mailOutboxService(ServerSetupTest.SMTP.getPort());
+
+        mailOutboxService.enqueue(List.of(email("mike@ticketng.com"), email("jane@ticketng.com")));
+        int sent = mailOutboxService.sendBatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, sent);
+        assertEquals(2, received.length);
+        assertEquals("Confirm Registration", received[0].getSubject());
+        assertTrue(mailOutboxRepository.findAll().stream().allMatch(mail -> mail.getSentAt() != null));
+        assertEquals(0, mailOutboxService.sendBatch()); //nothing due anymore
+    }
+
+    @Test
+    public void givenSmtpDown_whenSendBatch_thenRetriedLater() {
+        MailOutboxServiceImpl mailOutboxService = mailOutboxService(ServerSetupTest.SMTP.getPort() + 1);
+
+        mailOutboxService.enqueue(List.of(email("mike@ticketng.com")));
+        mailOutboxService.sendBatch();
+
+        MailOutbox mail = mailOutboxRepository.findAll().get(0);
+        assertNull(mail.getSentAt());
+        assertEquals(1, mail.getAttempts());
+        assertNotNull(mail.getLastError());
+        assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals(0, mailOutboxService.sendBatch()); //not due before the retry delay
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    private MailOutboxServiceImpl mailOutboxService(int port) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(port);
+        return new MailOutboxServiceImpl(mailOutboxRepository, javaMailSender, transactionManager, Runnable::run, new SimpleMeterRegistry(),
+                1, 50, 8, Duration.ofSeconds(30), Duration.ofDays(7), Duration.ofMinutes(5));
+    }
+
+    private SimpleMailMessage email(String emailTo) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@ticketng.com");
+        message.setTo(emailTo);
+        message.setSubject("Confirm Registration");
+        message.setText("To confirm your account, please click here: ");
+        return message;
+    }
+}
@@ -0,0 +1,112 @@
+package com.cyber.service;
+
+import com.cyber.dto.ProjectTaskCountDTO;
+import com.cyber.entity.Project;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.enums.Status;
+import com.cyber.repository.ProjectRepository;
+import com.cyber.repository.ProjectTaskStatsRepository;
+import com.cyber.repository.RoleRepository;
+import com.cyber.repository.TaskRepository;
+import com.cyber.repository.TestEntities;
+import com.cyber.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProjectTaskStatsServiceImplTest {
+
+    @Autowired
+    ProjectTaskStatsRepository projectTaskStatsRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    private TestEntities testEntities;
+
+    @BeforeEach
+    public void createTestEntities() {
+        testEntities = new TestEntities(userRepository, roleRepository, projectRepository, taskRepository);
+    }
+
+    //counters changed step by step should be the same as counters rebuilt from tasks
+    @Test
+    public void givenTaskChanges_whenAdded_thenSameAsReconciled() {
+        ProjectTaskStatsService projectTaskStatsService = new ProjectTaskStatsServiceImpl(projectTaskStatsRepository);
+        User manager = testEntities.user("mike", "Manager");
+        User employee = testEntities.user("jane", "Employee");
+        Project api = testEntities.project("Api1", manager);
+        Project ui = testEntities.project("Ui1", manager);
+        projectTaskStatsService.create(api.getId());
+        projectTaskStatsService.create(ui.getId());
+
+        testEntities.task(api, employee, Status.OPEN);
+        projectTaskStatsService.add(api.getId(), Status.OPEN, 1);
+        Task moved = testEntities.task(api, employee, Status.OPEN);
+        projectTaskStatsService.add(api.getId(), Status.OPEN, 1);
+        moved.setProject(ui);
+        moved.setTaskStatus(Status.COMPLETE);
+        projectTaskStatsService.add(api.getId(), Status.OPEN, -1);
+        projectTaskStatsService.add(ui.getId(), Status.COMPLETE, 1);
+
+        Map<Long, ProjectTaskCountDTO> added = counts(projectTaskStatsService, api, ui);
+        entityManager.flush();
+        projectTaskStatsService.reconcile();
+        entityManager.clear();
+        Map<Long, ProjectTaskCountDTO> reconciled = counts(projectTaskStatsService, api, ui);
+
+        assertEquals(1L, added.get(api.getId()).getIncompleteTaskCount());
+        assertEquals(0L, added.get(api.getId()).getCompleteTaskCount());
+        assertEquals(1L, added.get(ui.getId()).getCompleteTaskCount());
+        for (Project project : List.of(api, ui)) {
+            assertEquals(added.get(project.getId()).getCompleteTaskCount(), reconciled.get(project.getId()).getCompleteTaskCount());
+            assertEquals(added.get(project.getId()).getIncompleteTaskCount(), reconciled.get(project.getId()).getIncompleteTaskCount());
+        }
+    }
+
+    @Test
+    public void givenProjectWithoutCounters_whenTaskAdded_thenRowCreatedAndReconciled() {
+        ProjectTaskStatsService projectTaskStatsService = new ProjectTaskStatsServiceImpl(projectTaskStatsRepository);
+        User employee = testEntities.user("jane", "Employee");
+        Project api = testEntities.project("Api1", testEntities.user("mike", "Manager"));
+        testEntities.task(api, employee, Status.IN_PROGRESS);
+
+        assertEquals(0L, projectTaskStatsService.findByProjectId(api.getId()).getIncompleteTaskCount());
+        testEntities.task(api, employee, Status.OPEN);
+        projectTaskStatsService.add(api.getId(), Status.OPEN, 1); //no row - created with the change
+        assertEquals(1L, projectTaskStatsService.findByProjectId(api.getId()).getIncompleteTaskCount());
+        entityManager.flush();
+        projectTaskStatsService.reconcile();
+
+        assertEquals(2L, projectTaskStatsService.findByProjectId(api.getId()).getIncompleteTaskCount());
+    }
+
+    private Map<Long, ProjectTaskCountDTO> counts(ProjectTaskStatsService projectTaskStatsService, Project... projects) {
+        return projectTaskStatsService.findAllByProjectIds(List.of(projects[0].getId(), projects[1].getId()));
+    }
+}
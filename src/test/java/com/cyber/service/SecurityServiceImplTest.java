@@ -0,0 +1,72 @@
+package com.cyber.service;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.TokenClaims;
+import com.cyber.entity.Role;
+import com.cyber.entity.User;
+import com.cyber.exception.TicketNGProjectException;
+import com.cyber.repository.UserRepository;
+import com.cyber.util.JWTUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SecurityServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = spy(new BCryptPasswordEncoder(4));
+    private final JWTUtil jwtUtil = new JWTUtil("ticketng");
+    private final SecurityService securityService = new SecurityServiceImpl(null, userRepository,
+            RoleCatalog.of(List.of(role(2L, "Manager"))), passwordEncoder, jwtUtil);
+
+    @Test
+    public void givenValidCredentials_whenLogin_thenTokenFromOneLookup() throws TicketNGProjectException {
+        when(userRepository.findByUserName("mike@ticketng.com")).thenReturn(user(true));
+
+        TokenClaims claims = jwtUtil.validateToken(securityService.login("mike@ticketng.com", "abc1"));
+
+        assertEquals(5L, claims.getId());
+        assertEquals("Manager", claims.getRole());
+        verify(userRepository, times(1)).findByUserName(anyString());
+    }
+
+    @Test
+    public void givenUnknownUser_whenLogin_thenPasswordIsStillChecked() {
+        clearInvocations(passwordEncoder);
+
+        assertThrows(BadCredentialsException.class, () -> securityService.login("nobody@ticketng.com", "abc1"));
+        verify(passwordEncoder).matches(eq("abc1"), anyString());
+    }
+
+    @Test
+    public void givenWrongPasswordOrDisabledUser_whenLogin_thenRejected() {
+        when(userRepository.findByUserName("mike@ticketng.com")).thenReturn(user(false));
+
+        assertThrows(BadCredentialsException.class, () -> securityService.login("mike@ticketng.com", "wrong"));
+        assertThrows(TicketNGProjectException.class, () -> securityService.login("mike@ticketng.com", "abc1"));
+    }
+
+    private User user(boolean enabled) {
+        User user = new User();
+        user.setId(5L);
+        user.setUserName("mike@ticketng.com");
+        user.setPassWord(new BCryptPasswordEncoder(4).encode("abc1"));
+        user.setEnabled(enabled);
+        user.setRole(role(2L, "Manager"));
+        return user;
+    }
+
+    private static Role role(Long id, String description) {
+        Role role = new Role(description);
+        role.setId(id);
+        return role;
+    }
+}
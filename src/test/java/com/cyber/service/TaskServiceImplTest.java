@@ -0,0 +1,142 @@
+package com.cyber.service;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.ProjectDTO;
+import com.cyber.dto.TaskDTO;
+import com.cyber.entity.Project;
+import com.cyber.entity.Task;
+import com.cyber.enums.Status;
+import com.cyber.exception.TicketNGProjectException;
+import com.cyber.repository.TaskRepository;
+import com.cyber.util.MapperUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+//each task change gives the counters of its project(s) the right delta
+class TaskServiceImplTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ProjectTaskStatsService projectTaskStatsService = mock(ProjectTaskStatsService.class);
+    private final TaskService taskService = new TaskServiceImpl(taskRepository, null, new MapperUtil(new ModelMapper(), RoleCatalog.of(List.of())),
+            null, projectTaskStatsService);
+
+    @BeforeEach
+    public void saveReturnsTask() {
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    public void givenNewTask_whenSave_thenOpenCountedOnce() {
+        taskService.save(taskDTO(null, 1L, null));
+
+        verify(projectTaskStatsService).add(1L, Status.OPEN, 1);
+        verifyNoMoreInteractions(projectTaskStatsService);
+    }
+
+    @Test
+    public void givenNewTasks_whenSaveAll_thenOneDeltaPerProject() throws TicketNGProjectException {
+        taskService.saveAll(List.of(taskDTO(null, 1L, null), taskDTO(null, 2L, null), taskDTO(null, 1L, null)));
+
+        verify(projectTaskStatsService).add(1L, Status.OPEN, 2);
+        verify(projectTaskStatsService).add(2L, Status.OPEN, 1);
+        verifyNoMoreInteractions(projectTaskStatsService);
+    }
+
+    @Test
+    public void givenTooManyTasks_whenSaveAll_thenRejectedBeforeAnyInsert() {
+        List<TaskDTO> tasks = Collections.nCopies(TaskServiceImpl.MAX_BATCH_SIZE + 1, taskDTO(null, 1L, null));
+
+        assertThrows(TicketNGProjectException.class, () -> taskService.saveAll(tasks));
+        verifyNoInteractions(taskRepository, projectTaskStatsService);
+    }
+
+    @Test
+    public void givenTaskMovedAndCompleted_whenUpdate_thenLeavesOldAndEntersNew() throws TicketNGProjectException {
+        found(task(5L, 1L, Status.OPEN));
+
+        taskService.update(taskDTO(5L, 2L, Status.COMPLETE));
+
+        verify(projectTaskStatsService).add(1L, Status.OPEN, -1);
+        verify(projectTaskStatsService).add(2L, Status.COMPLETE, 1);
+        verifyNoMoreInteractions(projectTaskStatsService);
+    }
+
+    @Test
+    public void givenSameProjectAndStatus_whenUpdate_thenNoDelta() throws TicketNGProjectException {
+        found(task(5L, 1L, Status.OPEN));
+
+        taskService.update(taskDTO(5L, 1L, Status.OPEN));
+
+        verifyNoInteractions(projectTaskStatsService);
+    }
+
+    @Test
+    public void givenNewStatus_whenUpdateStatus_thenMovedBetweenStatuses() throws TicketNGProjectException {
+        found(task(5L, 1L, Status.IN_PROGRESS));
+
+        taskService.updateStatus(taskDTO(5L, null, Status.COMPLETE));
+
+        verify(projectTaskStatsService).add(1L, Status.IN_PROGRESS, -1);
+        verify(projectTaskStatsService).add(1L, Status.COMPLETE, 1);
+        verifyNoMoreInteractions(projectTaskStatsService);
+    }
+
+    @Test
+    public void givenTask_whenDelete_thenUncounted() throws TicketNGProjectException {
+        found(task(5L, 1L, Status.COMPLETE));
+
+        taskService.delete(5L);
+
+        verify(projectTaskStatsService).add(1L, Status.COMPLETE, -1);
+        verifyNoMoreInteractions(projectTaskStatsService);
+    }
+
+    @Test
+    public void givenProject_whenDeleteByProject_thenTasksAndCountersRemoved() {
+        ProjectDTO project = new ProjectDTO();
+        project.setId(1L);
+
+        taskService.deleteByProject(project);
+
+        verify(taskRepository).softDeleteAllByProjectId(eq(1L), any(), anyLong());
+        verify(projectTaskStatsService).remove(1L);
+        verifyNoMoreInteractions(projectTaskStatsService);
+    }
+
+    private void found(Task task) {
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+    }
+
+    private Task task(Long id, Long projectId, Status status) {
+        Project project = new Project();
+        project.setId(projectId);
+        Task task = new Task();
+        task.setId(id);
+        task.setProject(project);
+        task.setTaskStatus(status);
+        return task;
+    }
+
+    private TaskDTO taskDTO(Long id, Long projectId, Status status) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setId(id);
+        if (projectId != null) {
+            ProjectDTO project = new ProjectDTO();
+            project.setId(projectId);
+            taskDTO.setProject(project);
+        }
+        taskDTO.setTaskStatus(status);
+        return taskDTO;
+    }
+}
@@ -0,0 +1,67 @@
+package com.cyber.service;
+
+import com.cyber.dto.TokenClaims;
+import com.cyber.entity.TokenRevocation;
+import com.cyber.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceImplTest {
+
+    private final TokenRevocationRepository tokenRevocationRepository = mock(TokenRevocationRepository.class);
+    private final TokenRevocationService tokenRevocationService = new TokenRevocationServiceImpl(tokenRevocationRepository);
+
+    @Test
+    public void givenRevokedUser_whenTokenIssuedBefore_thenRevoked() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 5_000);
+
+        tokenRevocationService.revoke(1L);
+
+        assertTrue(tokenRevocationService.isRevoked(claims(1L, issuedAt)));
+        assertFalse(tokenRevocationService.isRevoked(claims(2L, issuedAt)));
+    }
+
+    @Test
+    public void givenRevokedUser_whenTokenIssuedAfter_thenNotRevoked() {
+        tokenRevocationService.revoke(1L);
+
+        assertFalse(tokenRevocationService.isRevoked(claims(1L, new Date(System.currentTimeMillis() + 5_000))));
+    }
+
+    @Test
+    public void givenRevocationFromOtherNode_whenRefresh_thenRevoked() {
+        when(tokenRevocationRepository.findAllByRevokedAtAfter(any()))
+                .thenReturn(Collections.singletonList(new TokenRevocation(3L, LocalDateTime.now())));
+
+        tokenRevocationService.refresh();
+
+        assertTrue(tokenRevocationService.isRevoked(claims(3L, new Date(System.currentTimeMillis() - 5_000))));
+    }
+
+    @Test
+    public void givenRevocation_whenTokenIssuedInSameSecond_thenNotRevoked() {
+        LocalDateTime revokedAt = LocalDateTime.now().withNano(500_000_000);
+        when(tokenRevocationRepository.findAllByRevokedAtAfter(any()))
+                .thenReturn(Collections.singletonList(new TokenRevocation(3L, revokedAt)));
+
+        tokenRevocationService.refresh();
+
+        long revokedSecond = revokedAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+        assertFalse(tokenRevocationService.isRevoked(claims(3L, new Date(revokedSecond * 1000))));
+        assertTrue(tokenRevocationService.isRevoked(claims(3L, new Date(revokedSecond * 1000 - 1))));
+    }
+
+    private TokenClaims claims(Long id, Date issuedAt) {
+        return new TokenClaims("user" + id, id, issuedAt, new Date(issuedAt.getTime() + 60_000), "Manager", true);
+    }
+}
@@ -0,0 +1,118 @@
+package com.cyber.service;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.RoleDTO;
+import com.cyber.dto.UserDTO;
+import com.cyber.entity.Role;
+import com.cyber.entity.User;
+import com.cyber.exception.TicketNGProjectException;
+import com.cyber.repository.UserRepository;
+import com.cyber.util.MapperUtil;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.modelmapper.ModelMapper;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RoleCatalog roleCatalog = RoleCatalog.of(List.of(role(2L, "Manager"), role(3L, "Employee")));
+    private final UserService userService = new UserServiceImpl(userRepository, null, null, new MapperUtil(new ModelMapper(), roleCatalog),
+            passwordEncoder, null, null, null, Runnable::run, null, roleCatalog, transactionManager);
+
+    @Test
+    public void givenNewUsers_whenSaveAll_thenPasswordsEncodedAndSavedTogether() throws TicketNGProjectException {
+        when(userRepository.findAllByUserNameIn(any())).thenReturn(Collections.emptyList());
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "encoded-" + invocation.getArgument(0));
+
+        List<UserDTO> createdUsers = userService.saveAll(List.of(user("mike@ticketng.com"), user("jane@ticketng.com")));
+
+        assertEquals(2, createdUsers.size());
+        //once before hashing, once in the insert transaction
+        verify(userRepository, times(2)).findAllByUserNameIn(any());
+        //no transaction is open while hashing
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager, userRepository);
+        inOrder.verify(passwordEncoder, times(2)).encode(anyString());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).saveAll(any());
+        verify(userRepository).saveAll(argThat((List<User> users) ->
+                users.size() == 2 && users.stream().allMatch(user -> user.getPassWord().equals("encoded-abc123"))));
+    }
+
+    @Test
+    public void givenExistingUsername_whenSaveAll_thenNothingSaved() {
+        User existing = new User();
+        existing.setUserName("mike@ticketng.com");
+        when(userRepository.findAllByUserNameIn(any())).thenReturn(List.of(existing));
+
+        assertThrows(TicketNGProjectException.class, () -> userService.saveAll(List.of(user("mike@ticketng.com"), user("jane@ticketng.com"))));
+        verify(userRepository, never()).saveAll(any());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    public void givenTooManyUsers_whenSaveAll_thenRejectedBeforeAnyQuery() {
+        List<UserDTO> users = IntStream.rangeClosed(0, UserServiceImpl.MAX_IMPORT_SIZE).mapToObj(i -> user("user" + i + "@ticketng.com")).collect(Collectors.toList());
+
+        TicketNGProjectException exception = assertThrows(TicketNGProjectException.class, () -> userService.saveAll(users));
+        assertTrue(exception.getMessage().contains(String.valueOf(UserServiceImpl.MAX_IMPORT_SIZE)));
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    @Test
+    public void givenSameUsernameTwice_whenSaveAll_thenRejected() {
+        assertThrows(TicketNGProjectException.class, () -> userService.saveAll(List.of(user("mike@ticketng.com"), user("mike@ticketng.com"))));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void givenUnknownRole_whenSaveAll_thenRejected() {
+        UserDTO user = user("mike@ticketng.com");
+        user.setRole(new RoleDTO(9L, "Intern"));
+        when(userRepository.findAllByUserNameIn(any())).thenReturn(Collections.emptyList());
+
+        assertThrows(TicketNGProjectException.class, () -> userService.saveAll(List.of(user)));
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void givenRoleInAnyCase_whenListAllByRole_thenFilteredByRoleId() {
+        userService.listAllByRole("employee", null, 10);
+        userService.listAllByRole("Intern", null, 10);
+
+        verify(userRepository).findAllByRoleIdOrderByFirstNameAscIdAsc(eq(3L), any());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    private Role role(Long id, String description) {
+        Role role = new Role(description);
+        role.setId(id);
+        return role;
+    }
+
+    private UserDTO user(String userName) {
+        return UserDTO.builder()
+                .firstName("first")
+                .lastName("last")
+                .userName(userName)
+                .passWord("abc123")
+                .role(new RoleDTO(3L, "Employee"))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.cyber.util;
+
+import com.cyber.dto.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CurrentUserTest {
+
+    private final CurrentUser currentUser = new CurrentUser();
+
+    @AfterEach
+    public void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenAuthenticatedUser_whenFindId_thenIdFromToken() {
+        AuthenticatedUser user = new AuthenticatedUser(4L, "mike@ticketng.com", true, "Manager");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        assertEquals(4L, currentUser.findId().orElseThrow());
+        assertEquals("Manager", currentUser.find().orElseThrow().getRole());
+    }
+
+    @Test
+    public void givenNoAuthentication_whenFind_thenEmpty() {
+        assertTrue(currentUser.find().isEmpty());
+    }
+}
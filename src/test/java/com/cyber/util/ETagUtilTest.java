@@ -0,0 +1,85 @@
+package com.cyber.util;
+
+import com.cyber.entity.Project;
+import com.cyber.entity.TableVersion;
+import com.cyber.entity.User;
+import com.cyber.repository.TableVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ETagUtilTest {
+
+    private final TableVersionRepository tableVersionRepository = mock(TableVersionRepository.class);
+    private final ETagUtil eTagUtil = new ETagUtil(tableVersionRepository);
+
+    @AfterEach
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenSameVersion_whenETagSentBack_thenNotModified() {
+        when(tableVersionRepository.findAllById(anyIterable())).thenReturn(List.of(version("projects", 3L), version("users", 5L)));
+        login("2");
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertFalse(eTagUtil.checkNotModified(new ServletWebRequest(request(null), first), Project.class, User.class));
+        String eTag = first.getHeader("ETag");
+        assertNotNull(eTag);
+        assertNull(first.getHeader("Last-Modified"));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertTrue(eTagUtil.checkNotModified(new ServletWebRequest(request(eTag), second), Project.class, User.class));
+        assertEquals(304, second.getStatus());
+    }
+
+    @Test
+    public void givenChangedRowOrOtherUser_whenETagSentBack_thenModified() {
+        when(tableVersionRepository.findAllById(anyIterable())).thenReturn(List.of(version("projects", 3L)), List.of(version("projects", 4L)));
+        login("2");
+        String eTag = eTagOf(Project.class);
+
+        assertFalse(eTagUtil.checkNotModified(new ServletWebRequest(request(eTag), new MockHttpServletResponse()), Project.class));
+        String changedETag = eTagOf(Project.class);
+        login("3");
+        assertFalse(eTagUtil.checkNotModified(new ServletWebRequest(request(changedETag), new MockHttpServletResponse()), Project.class));
+    }
+
+    private String eTagOf(Class<Project> entity) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        eTagUtil.checkNotModified(new ServletWebRequest(request(null), response), entity);
+        return response.getHeader("ETag");
+    }
+
+    private TableVersion version(String tableName, long version) {
+        TableVersion tableVersion = new TableVersion();
+        tableVersion.setTableName(tableName);
+        tableVersion.setVersion(version);
+        return tableVersion;
+    }
+
+    private MockHttpServletRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/project");
+        request.setQueryString("limit=10");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    private void login(String id) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(id, null));
+    }
+}
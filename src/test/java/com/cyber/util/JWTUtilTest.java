@@ -0,0 +1,42 @@
+package com.cyber.util;
+
+import com.cyber.dto.TokenClaims;
+import com.cyber.entity.Role;
+import com.cyber.entity.User;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTUtilTest {
+
+    private final JWTUtil jwtUtil = new JWTUtil("ticketng");
+
+    @Test
+    public void givenGeneratedToken_whenValidate_thenClaimsAreReturned() {
+        User user = new User();
+        user.setId(5L);
+        user.setUserName("mike@ticketng.com");
+        user.setRole(new Role("Manager"));
+        user.setEnabled(true);
+
+        TokenClaims claims = jwtUtil.validateToken(jwtUtil.generateToken(user));
+
+        assertEquals("mike@ticketng.com", claims.getSubject());
+        assertEquals(5L, claims.getId());
+        assertEquals("Manager", claims.getRole());
+        assertTrue(claims.getEnabled());
+        assertTrue(claims.isSelfContained());
+        assertFalse(claims.isExpired());
+    }
+
+    @Test
+    public void givenTokenSignedWithOtherSecret_whenValidate_thenRejected() {
+        User user = new User();
+        user.setId(5L);
+        user.setUserName("mike@ticketng.com");
+        String token = new JWTUtil("b3RoZXJzZWNyZXQ").generateToken(user);
+
+        assertThrows(SignatureException.class, () -> jwtUtil.validateToken(token));
+    }
+}
@@ -0,0 +1,115 @@
+package com.cyber.util;
+
+import com.cyber.cache.RoleCatalog;
+import com.cyber.dto.ProjectDTO;
+import com.cyber.dto.RoleDTO;
+import com.cyber.dto.TaskDTO;
+import com.cyber.dto.UserDTO;
+import com.cyber.entity.Project;
+import com.cyber.entity.Role;
+import com.cyber.entity.Task;
+import com.cyber.entity.User;
+import com.cyber.enums.Gender;
+import com.cyber.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapperUtilTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final MapperUtil mapperUtil = new MapperUtil(modelMapper, RoleCatalog.of(List.of()));
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    //compiled mappers should give the same result as ModelMapper did
+    @Test
+    public void givenTask_whenConvertToDto_thenSameAsModelMapper() throws Exception {
+        Task task = task();
+        assertSameAsModelMapper(task, new TaskDTO());
+    }
+
+    @Test
+    public void givenTaskDto_whenConvertToEntity_thenSameAsModelMapper() throws Exception {
+        TaskDTO taskDTO = mapperUtil.convert(task(), new TaskDTO());
+        Task converted = mapperUtil.convert(taskDTO, new Task());
+        Task expected = modelMapper.map(taskDTO, (Type) Task.class);
+
+        assertEquals(expected.getProject().getAssignedManager().getRole().getDescription(), converted.getProject().getAssignedManager().getRole().getDescription());
+        assertEquals(expected.getAssignedEmployee().getPassWord(), converted.getAssignedEmployee().getPassWord());
+        assertEquals(expected.getAssignedEmployee().getEnabled(), converted.getAssignedEmployee().getEnabled());
+        assertEquals(expected.getProject().getProjectCode(), converted.getProject().getProjectCode());
+        assertEquals(expected.getTaskStatus(), converted.getTaskStatus());
+        assertEquals(expected.getId(), converted.getId());
+    }
+
+    @Test
+    public void givenUserDtoWithoutRole_whenConvert_thenRoleIsNull() {
+        UserDTO userDTO = UserDTO.builder().id(3L).userName("jane@ticketng.com").build();
+
+        User user = mapperUtil.convert(userDTO, new User());
+
+        assertNull(user.getRole());
+        assertEquals("jane@ticketng.com", user.getUserName());
+    }
+
+    @Test
+    public void givenNullSource_whenConvert_thenRejected() {
+        assertThrows(IllegalArgumentException.class, () -> mapperUtil.convert(null, new RoleDTO()));
+    }
+
+    private void assertSameAsModelMapper(Object source, Object target) throws Exception {
+        Object expected = modelMapper.map(source, (Type) target.getClass());
+        Object converted = mapperUtil.convert(source, target);
+        assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(converted));
+    }
+
+    private Task task() {
+        User manager = user(2L, "mike@ticketng.com", new Role("Manager"));
+        User employee = user(3L, "jane@ticketng.com", new Role("Employee"));
+
+        Project project = new Project();
+        project.setId(10L);
+        project.setProjectCode("Api1");
+        project.setProjectName("Api");
+        project.setAssignedManager(manager);
+        project.setStartDate(LocalDate.of(2022, 1, 1));
+        project.setEndDate(LocalDate.of(2022, 2, 1));
+        project.setProjectDetail("Api Test");
+        project.setProjectStatus(Status.IN_PROGRESS);
+
+        Task task = new Task();
+        task.setId(100L);
+        task.setProject(project);
+        task.setAssignedEmployee(employee);
+        task.setTaskSubject("subject");
+        task.setTaskDetail("detail");
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.of(2022, 1, 5));
+        return task;
+    }
+
+    private User user(Long id, String userName, Role role) {
+        role.setId(id);
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("first" + id);
+        user.setLastName("last" + id);
+        user.setUserName(userName);
+        user.setPassWord("secret");
+        user.setEnabled(true);
+        user.setPhone("555-000" + id);
+        user.setRole(role);
+        user.setGender(Gender.FEMALE);
+        return user;
+    }
+}
@@ -0,0 +1,70 @@
+package com.cyber.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+
+    private final TimedJsonHttpMessageConverter converter = new TimedJsonHttpMessageConverter(new ObjectMapper(), DataSize.ofBytes(64));
+
+    @AfterEach
+    public void clear() {
+        RequestTimings.clear();
+    }
+
+    @Test
+    public void givenNoApiCall_whenRecord_thenNothingHappens() {
+        RequestTimings.record(RequestTimings.Phase.DB, System.nanoTime());
+
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void givenApiCall_whenPhasesRecorded_thenCountedPerPhase() {
+        RequestTimings timings = RequestTimings.start();
+        timings.handledBy("GET /api/v1/task/employee", "Employee");
+
+        RequestTimings.record(RequestTimings.Phase.DB, System.nanoTime());
+        RequestTimings.record(RequestTimings.Phase.DB, System.nanoTime());
+
+        String logLine = timings.toLogLine(200);
+        assertTrue(logLine.startsWith("endpoint=\"GET /api/v1/task/employee\" role=Employee status=200"));
+        assertTrue(logLine.contains("db_calls=2"));
+        assertTrue(logLine.contains("auth_calls=0"));
+        assertTrue(timings.toServerTiming().matches("auth;dur=\\d+\\.\\d\\d, db;dur=.*, mapping;dur=.*, serialization;dur=.*, total;dur=.*"));
+    }
+
+    @Test
+    public void givenApiCall_whenJsonWritten_thenServerTimingHeaderBeforeBody() throws Exception {
+        RequestTimings.start();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(Map.of("id", 1), MediaType.APPLICATION_JSON, outputMessage);
+
+        assertEquals("{\"id\":1}", outputMessage.getBodyAsString());
+        assertTrue(outputMessage.getHeaders().getFirst("Server-Timing").contains("serialization;dur="));
+    }
+
+    @Test
+    public void givenBodyOverLimit_whenJsonWritten_thenStreamedWithoutHeader() throws Exception {
+        RequestTimings timings = RequestTimings.start();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        Map<String, Integer> body = IntStream.range(0, 50).boxed().collect(Collectors.toMap(i -> "key" + i, i -> i));
+
+        converter.write(body, MediaType.APPLICATION_JSON, outputMessage);
+
+        assertEquals(new ObjectMapper().writeValueAsString(body), outputMessage.getBodyAsString());
+        assertNull(outputMessage.getHeaders().getFirst("Server-Timing"));
+        assertTrue(timings.toLogLine(200).contains("serialization_calls=1"));
+    }
+}